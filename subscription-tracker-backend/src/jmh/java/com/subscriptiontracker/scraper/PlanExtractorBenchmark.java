@@ -0,0 +1,60 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.scraper.extractor.PlanExtractor;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-vendor extraction cost on the archived pages: extract() alone on an
+ * already parsed document, and parseAndExtract() including Jsoup parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanExtractorBenchmark {
+
+    @Param({ "Netflix", "Spotify", "Amazon Prime", "JioHotstar", "DeepSeek", "Gemini", "Google Workspace",
+            "Microsoft 365" })
+    public String subscription;
+
+    private PlanExtractor extractor;
+    private String html;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        extractor = ScrapeCorpus.extractorRegistry().get(subscription);
+        html = ScrapeCorpus.loadHtml().get(subscription);
+        if (extractor == null || html == null) {
+            throw new IllegalStateException("No extractor or corpus page for " + subscription);
+        }
+        document = Jsoup.parse(html);
+    }
+
+    @Benchmark
+    public List<ScrapedPlan> extract() {
+        return extractor.extract(document);
+    }
+
+    @Benchmark
+    public List<ScrapedPlan> parseAndExtract() {
+        return extractor.extract(Jsoup.parse(html));
+    }
+}
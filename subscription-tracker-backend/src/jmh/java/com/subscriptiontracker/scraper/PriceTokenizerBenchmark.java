@@ -0,0 +1,69 @@
+package com.subscriptiontracker.scraper;
+
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds every rupee and dollar amount in the full text of each corpus page -
+ * one operation is one pass over the whole corpus.
+ *
+ * regexPerCall is the old approach (compile on every call, substring and
+ * Double.parseDouble per match) kept as the baseline. Run with -prof gc to
+ * compare allocation as well as throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceTokenizerBenchmark {
+
+    private String[] pageTexts;
+
+    @Setup
+    public void loadCorpus() {
+        pageTexts = ScrapeCorpus.loadDocuments().values().stream()
+                .map(Document::text)
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        for (String text : pageTexts) {
+            PriceTokenizer tokenizer = new PriceTokenizer(text);
+            while (tokenizer.next()) {
+                blackhole.consume(tokenizer.getAmount());
+                blackhole.consume(tokenizer.getPeriodMonths());
+            }
+        }
+    }
+
+    @Benchmark
+    public void regexPerCall(Blackhole blackhole) {
+        for (String text : pageTexts) {
+            Matcher rupees = Pattern.compile("₹\\s*([\\d,]+(?:\\.\\d{2})?)").matcher(text);
+            while (rupees.find()) {
+                blackhole.consume(Double.parseDouble(rupees.group(1).replace(",", "")));
+            }
+            Matcher dollars = Pattern.compile("\\$([\\d.]+)").matcher(text);
+            while (dollars.find()) {
+                blackhole.consume(Double.parseDouble(dollars.group(1)));
+            }
+        }
+    }
+}
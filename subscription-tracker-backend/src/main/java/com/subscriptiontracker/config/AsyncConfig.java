@@ -4,7 +4,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Configuration
-@EnableAsync
+@EnableAsync(proxyTargetClass = true)
 public class AsyncConfig {
-    // Enables @Async annotation for sending emails asynchronously
-}
\ No newline at end of file
+    // Enables @Async annotation for sending emails asynchronously.
+    // Class proxies, so @Async beans that implement an interface (like
+    // DataInitializerService's CommandLineRunner) keep their own methods.
+}
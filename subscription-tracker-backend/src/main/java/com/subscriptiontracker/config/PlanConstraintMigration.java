@@ -0,0 +1,82 @@
+package com.subscriptiontracker.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Adds the (subscription_id, plan_name) unique constraint the plan upsert
+ * relies on. ddl-auto=update skips a constraint that existing rows violate,
+ * so duplicates left by the old per-plan writes are merged first: the most
+ * recently updated row wins and payments/watchlist entries are re-pointed.
+ * Runs after Hibernate has updated the schema and before any scrape.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class PlanConstraintMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanConstraintMigration.class);
+
+    public static final String CONSTRAINT_NAME = "uk_subscription_plans_subscription_plan_name";
+
+    public static final String CONSTRAINT_EXISTS_SQL = "SELECT COUNT(*) FROM pg_indexes "
+            + "WHERE tablename = 'subscription_plans' AND indexname = '" + CONSTRAINT_NAME + "'";
+
+    // Maps every duplicate plan row to the row that survives
+    private static final String DUPLICATES = "(SELECT id, FIRST_VALUE(id) OVER (PARTITION BY subscription_id, "
+            + "plan_name ORDER BY updated_at DESC NULLS LAST, id DESC) AS keep_id FROM subscription_plans) d";
+
+    private static final String REPOINT_PAYMENTS_SQL = "UPDATE payments p SET plan_id = d.keep_id FROM "
+            + DUPLICATES + " WHERE p.plan_id = d.id AND d.id <> d.keep_id";
+
+    private static final String REPOINT_WATCHLIST_SQL = "UPDATE watchlist w SET plan_id = d.keep_id FROM "
+            + DUPLICATES + " WHERE w.plan_id = d.id AND d.id <> d.keep_id";
+
+    private static final String DELETE_DUPLICATES_SQL = "DELETE FROM subscription_plans s USING "
+            + DUPLICATES + " WHERE s.id = d.id AND d.id <> d.keep_id";
+
+    private static final String ADD_CONSTRAINT_SQL = "ALTER TABLE subscription_plans ADD CONSTRAINT "
+            + CONSTRAINT_NAME + " UNIQUE (subscription_id, plan_name)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        try {
+            if (constraintExists()) {
+                return;
+            }
+            int removed = transactionTemplate.execute(status -> {
+                // Serialise with other instances starting at the same time
+                jdbcTemplate.execute("LOCK TABLE subscription_plans IN SHARE ROW EXCLUSIVE MODE");
+                if (constraintExists()) {
+                    return 0;
+                }
+                jdbcTemplate.update(REPOINT_PAYMENTS_SQL);
+                jdbcTemplate.update(REPOINT_WATCHLIST_SQL);
+                int deleted = jdbcTemplate.update(DELETE_DUPLICATES_SQL);
+                jdbcTemplate.execute(ADD_CONSTRAINT_SQL);
+                return deleted;
+            });
+            logger.info("Added {} after merging {} duplicate plan rows", CONSTRAINT_NAME, removed);
+        } catch (DataAccessException e) {
+            // Plan writes fall back to update-by-id when the constraint is missing
+            logger.error("Could not add {}: {}", CONSTRAINT_NAME, e.getMessage());
+        }
+    }
+
+    private boolean constraintExists() {
+        Integer count = jdbcTemplate.queryForObject(CONSTRAINT_EXISTS_SQL, Integer.class);
+        return count != null && count > 0;
+    }
+}
@@ -22,9 +22,63 @@ public class ScraperConfig {
     @Value("${scraper.retry.delay-ms:2000}")
     private long retryDelayMs;
 
+    @Value("${scraper.retry.max-delay-ms:60000}")
+    private long maxRetryDelayMs;
+
+    @Value("${scraper.circuit.failure-threshold:3}")
+    private int circuitFailureThreshold;
+
+    @Value("${scraper.circuit.open-ms:86400000}")
+    private long circuitOpenMs;
+
     @Value("${scraper.user-agent:Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36}")
     private String userAgent;
 
+    @Value("${scraper.concurrency.max-threads:4}")
+    private int maxConcurrentFetches;
+
+    @Value("${scraper.concurrency.per-host:1}")
+    private int maxFetchesPerHost;
+
+    @Value("${scraper.run.deadline-ms:120000}")
+    private long runDeadlineMs;
+
+    @Value("${scraper.http.max-body-bytes:5242880}")
+    private long maxBodyBytes;
+
+    @Value("${scraper.fingerprint.max-age-hours:168}")
+    private long fingerprintMaxAgeHours;
+
+    @Value("${scraper.replay.base-url:}")
+    private String replayBaseUrl;
+
+    @Value("${scraper.cadence.enabled:true}")
+    private boolean cadenceEnabled;
+
+    @Value("${scraper.cadence.lookback-days:180}")
+    private int cadenceLookbackDays;
+
+    @Value("${scraper.cadence.target-change-probability:0.05}")
+    private double cadenceTargetChangeProbability;
+
+    @Value("${scraper.cadence.min-interval-hours:4}")
+    private long cadenceMinIntervalHours;
+
+    @Value("${scraper.cadence.max-staleness-hours:24}")
+    private long cadenceMaxStalenessHours;
+
+    @Value("${scraper.cadence.max-fetches-per-hour:4}")
+    private int cadenceMaxFetchesPerHour;
+
+    @Value("${scraper.warm-start.max-age-hours:24}")
+    private long warmStartMaxAgeHours;
+
+    @Value("${scraper.ledger.window-days:7}")
+    private int ledgerWindowDays;
+
+    @Value("${scraper.ledger.retention-days:90}")
+    private int ledgerRetentionDays;
+
     // Getters
 
     public double getUsdToInrRate() {
@@ -47,6 +101,82 @@ public class ScraperConfig {
         return userAgent;
     }
 
+    public int getMaxConcurrentFetches() {
+        return maxConcurrentFetches;
+    }
+
+    public int getMaxFetchesPerHost() {
+        return maxFetchesPerHost;
+    }
+
+    public long getRunDeadlineMs() {
+        return runDeadlineMs;
+    }
+
+    public long getFingerprintMaxAgeHours() {
+        return fingerprintMaxAgeHours;
+    }
+
+    public long getMaxRetryDelayMs() {
+        return maxRetryDelayMs;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public long getCircuitOpenMs() {
+        return circuitOpenMs;
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public boolean isCadenceEnabled() {
+        return cadenceEnabled;
+    }
+
+    public int getCadenceLookbackDays() {
+        return cadenceLookbackDays;
+    }
+
+    public double getCadenceTargetChangeProbability() {
+        return cadenceTargetChangeProbability;
+    }
+
+    public long getCadenceMinIntervalHours() {
+        return cadenceMinIntervalHours;
+    }
+
+    public long getCadenceMaxStalenessHours() {
+        return cadenceMaxStalenessHours;
+    }
+
+    public int getCadenceMaxFetchesPerHour() {
+        return cadenceMaxFetchesPerHour;
+    }
+
+    public long getWarmStartMaxAgeHours() {
+        return warmStartMaxAgeHours;
+    }
+
+    public int getLedgerWindowDays() {
+        return ledgerWindowDays;
+    }
+
+    public int getLedgerRetentionDays() {
+        return ledgerRetentionDays;
+    }
+
+    public String getReplayBaseUrl() {
+        return replayBaseUrl;
+    }
+
+    public boolean isReplayMode() {
+        return replayBaseUrl != null && !replayBaseUrl.isBlank();
+    }
+
     /**
      * Get exponential backoff delay for a given attempt.
      * Attempt 1: delay * 1 = 2s
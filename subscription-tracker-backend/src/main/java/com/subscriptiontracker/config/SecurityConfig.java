@@ -3,6 +3,7 @@ package com.subscriptiontracker.config;
 import com.subscriptiontracker.security.AuthEntryPointJwt;
 import com.subscriptiontracker.security.JwtAuthenticationFilter;
 import com.subscriptiontracker.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -65,6 +66,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume a request already authorized (alert stream)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/health/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
@@ -73,6 +76,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/subscriptions/available").permitAll()
                         .requestMatchers("/api/subscriptions/plans/**").permitAll()
                         .requestMatchers("/api/subscriptions/*/plans").permitAll()
+                        .requestMatchers("/api/subscriptions/*/plans/price-changes").permitAll()
                         .requestMatchers("/api/subscriptions/scrape-prices").permitAll()
                         .requestMatchers("/api/admin/login").permitAll()
                         .requestMatchers("/api/admin/init").permitAll()
@@ -1,12 +1,20 @@
 package com.subscriptiontracker.controller;
 
 import com.subscriptiontracker.dto.AlertDTO;
+import com.subscriptiontracker.dto.AlertFeedDTO;
 import com.subscriptiontracker.dto.ApiResponse;
 import com.subscriptiontracker.service.AlertService;
+import com.subscriptiontracker.service.AlertStreamService;
+import com.subscriptiontracker.service.AuthService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +24,12 @@ public class AlertController {
     @Autowired
     private AlertService alertService;
 
+    @Autowired
+    private AlertStreamService alertStreamService;
+
+    @Autowired
+    private AuthService authService;
+
     // Get all alerts
     @GetMapping
     public ResponseEntity<ApiResponse<List<AlertDTO>>> getAllAlerts() {
@@ -23,6 +37,18 @@ public class AlertController {
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
+    // Get alerts a page at a time, newest first, optionally by type and read state.
+    // Pass the returned nextCursor as cursor to get the next page.
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<AlertFeedDTO>> getAlertFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(defaultValue = "20") int limit) {
+        AlertFeedDTO feed = alertService.getAlertFeed(cursor, type, read, limit);
+        return ResponseEntity.ok(ApiResponse.success(feed));
+    }
+
     // Get unread alerts
     @GetMapping("/unread")
     public ResponseEntity<ApiResponse<List<AlertDTO>>> getUnreadAlerts() {
@@ -37,6 +63,26 @@ public class AlertController {
         return ResponseEntity.ok(ApiResponse.success(count));
     }
 
+    // Get a short-lived token for opening the alert stream from a browser
+    @PostMapping("/stream-token")
+    public ResponseEntity<ApiResponse<String>> getStreamToken() {
+        return ResponseEntity.ok(ApiResponse.success(authService.createAlertStreamToken()));
+    }
+
+    // Stream new alerts and unread count changes (Server-Sent Events). Browsers
+    // authenticate with ?token= from /stream-token. Clients reconnecting with
+    // Last-Event-ID, or lastEventId when opening a new stream, are sent the
+    // alerts they missed.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+            HttpServletResponse response) {
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // Stop nginx buffering the stream
+        return alertStreamService.connect(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+    }
+
     // Mark alert as read
     @PutMapping("/{id}/read")
     public ResponseEntity<ApiResponse<AlertDTO>> markAsRead(@PathVariable Long id) {
@@ -44,11 +90,34 @@ public class AlertController {
         return ResponseEntity.ok(ApiResponse.success("Alert marked as read", alert));
     }
 
-    // Mark all alerts as read
+    // Mark all alerts as read; returns how many were marked
     @PutMapping("/read-all")
-    public ResponseEntity<ApiResponse<Void>> markAllAsRead() {
-        alertService.markAllAsRead();
-        return ResponseEntity.ok(ApiResponse.success("All alerts marked as read", null));
+    public ResponseEntity<ApiResponse<Integer>> markAllAsRead() {
+        int marked = alertService.markAllAsRead();
+        return ResponseEntity.ok(ApiResponse.success("All alerts marked as read", marked));
+    }
+
+    // Mark alerts created before a time (ISO date-time) as read
+    @PutMapping("/read-before")
+    public ResponseEntity<ApiResponse<Integer>> markReadBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        int marked = alertService.markReadBefore(before);
+        return ResponseEntity.ok(ApiResponse.success(marked + " alerts marked as read", marked));
+    }
+
+    // Delete all alerts of a type, e.g. PRICE_DROP
+    @DeleteMapping("/type/{type}")
+    public ResponseEntity<ApiResponse<Integer>> deleteByType(@PathVariable String type) {
+        int deleted = alertService.deleteByType(type);
+        return ResponseEntity.ok(ApiResponse.success(deleted + " alerts deleted", deleted));
+    }
+
+    // Delete read alerts older than the given number of days
+    @DeleteMapping("/read")
+    public ResponseEntity<ApiResponse<Integer>> deleteReadOlderThan(
+            @RequestParam(defaultValue = "30") int olderThanDays) {
+        int deleted = alertService.deleteReadOlderThan(olderThanDays);
+        return ResponseEntity.ok(ApiResponse.success(deleted + " alerts deleted", deleted));
     }
 
     // Delete alert
@@ -2,6 +2,7 @@ package com.subscriptiontracker.controller;
 
 import com.subscriptiontracker.dto.*;
 import com.subscriptiontracker.entity.User;
+import com.subscriptiontracker.scheduler.RenewalReminderWheel;
 import com.subscriptiontracker.service.AuthService;
 import com.subscriptiontracker.service.OtpService;
 import jakarta.validation.Valid;
@@ -19,6 +20,9 @@ public class AuthController {
     @Autowired
     private OtpService otpService;
 
+    @Autowired
+    private RenewalReminderWheel renewalReminderWheel;
+
     // Send OTP for email verification
     @PostMapping("/send-otp")
     public ResponseEntity<ApiResponse<String>> sendOtp(@Valid @RequestBody OtpRequest request) {
@@ -60,13 +64,14 @@ public class AuthController {
                 .email(user.getEmail())
                 .monthlyIncome(user.getMonthlyIncome())
                 .monthlyExpenses(user.getMonthlyExpenses())
+                .timezone(user.getTimezone())
                 .createdAt(user.getCreatedAt())
                 .build();
 
         return ResponseEntity.ok(ApiResponse.success(profileDTO));
     }
 
-    // Update current user profile (name)
+    // Update current user profile (name, timezone)
     @PutMapping("/me")
     public ResponseEntity<ApiResponse<UserProfileDTO>> updateProfile(
             @RequestBody java.util.Map<String, String> updates) {
@@ -80,7 +85,26 @@ public class AuthController {
             user.setName(newName);
         }
 
+        boolean timezoneChanged = false;
+        if (updates.containsKey("timezone")) {
+            String timezone = updates.get("timezone");
+            timezone = timezone != null && !timezone.isBlank() ? timezone.trim() : null;
+            if (timezone != null) {
+                try {
+                    java.time.ZoneId.of(timezone);
+                } catch (java.time.DateTimeException e) {
+                    throw new com.subscriptiontracker.exception.BadRequestException("Invalid timezone: " + timezone);
+                }
+            }
+            timezoneChanged = !java.util.Objects.equals(timezone, user.getTimezone());
+            user.setTimezone(timezone);
+        }
+
         User savedUser = authService.saveUser(user);
+        if (timezoneChanged) {
+            // Reminders are due at a local time, so they move with the user's timezone
+            renewalReminderWheel.rescheduleUser(savedUser.getId());
+        }
 
         UserProfileDTO profileDTO = UserProfileDTO.builder()
                 .id(savedUser.getId())
@@ -88,6 +112,7 @@ public class AuthController {
                 .email(savedUser.getEmail())
                 .monthlyIncome(savedUser.getMonthlyIncome())
                 .monthlyExpenses(savedUser.getMonthlyExpenses())
+                .timezone(savedUser.getTimezone())
                 .createdAt(savedUser.getCreatedAt())
                 .build();
 
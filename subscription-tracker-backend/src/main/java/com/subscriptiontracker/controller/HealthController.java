@@ -1,12 +1,17 @@
 package com.subscriptiontracker.controller;
 
 import com.subscriptiontracker.scheduler.PriceScrapingScheduler;
+import com.subscriptiontracker.scheduler.SchedulerMetrics;
+import com.subscriptiontracker.service.ScrapeCadenceService;
+import com.subscriptiontracker.service.ScrapeLedgerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,6 +25,15 @@ public class HealthController {
     @Autowired
     private PriceScrapingScheduler scheduler;
 
+    @Autowired
+    private ScrapeLedgerService scrapeLedgerService;
+
+    @Autowired
+    private ScrapeCadenceService scrapeCadenceService;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
     /**
      * Basic health check endpoint.
      */
@@ -33,7 +47,8 @@ public class HealthController {
     }
 
     /**
-     * Detailed scheduler status.
+     * Detailed scheduler status, with scrape health from the scrape ledger
+     * and per-job run metrics from this node.
      */
     @GetMapping("/scheduler")
     public ResponseEntity<Map<String, Object>> schedulerStatus() {
@@ -51,17 +66,82 @@ public class HealthController {
                 : "Never");
         status.put("lastScrapingSuccess", schedulerStatus.lastScrapingSuccess);
         status.put("lastRenewalCheckSuccess", schedulerStatus.lastRenewalCheckSuccess);
+        status.put("reminderWheelEnabled", schedulerStatus.reminderWheelEnabled);
         status.put("timezone", schedulerStatus.timezone);
         status.put("timestamp", LocalDateTime.now().toString());
+        status.put("scraping", scrapeHealth(scrapeLedgerService.getHealth()));
+        status.put("scrapeCadence", scrapeCadence(scrapeCadenceService.getSchedule()));
+        status.put("jobs", jobMetrics(schedulerMetrics.snapshot()));
 
-        // Determine overall health
-        boolean healthy = schedulerStatus.lastScrapingSuccess && schedulerStatus.lastRenewalCheckSuccess;
+        // Determine overall health; the daily renewal check only counts when it is the one sending reminders
+        boolean healthy = schedulerStatus.lastScrapingSuccess
+                && (schedulerStatus.reminderWheelEnabled || schedulerStatus.lastRenewalCheckSuccess);
         status.put("healthy", healthy);
         status.put("status", healthy ? "HEALTHY" : "DEGRADED");
 
         return ResponseEntity.ok(status);
     }
 
+    // Rolling-window success rate and fetch/parse timings
+    private Map<String, Object> scrapeHealth(ScrapeLedgerService.Health health) {
+        Map<String, Object> scraping = new HashMap<>();
+        scraping.put("windowDays", health.windowDays);
+        scraping.put("runs", health.runs);
+        scraping.put("failedRuns", health.failedRuns);
+        scraping.put("lastRunStatus", health.lastRunStatus != null ? health.lastRunStatus : "Never");
+        scraping.put("pagesScraped", health.entries);
+        scraping.put("fallbacks", health.fallbackCount);
+        scraping.put("successRate", health.successRate);
+        scraping.put("fetchP50Ms", health.fetchP50Ms);
+        scraping.put("fetchP95Ms", health.fetchP95Ms);
+        scraping.put("parseP50Ms", health.parseP50Ms);
+        scraping.put("parseP95Ms", health.parseP95Ms);
+        scraping.put("errorClasses", health.errorClasses);
+        return scraping;
+    }
+
+    // Duration histogram, item and failure counters and in-flight state per job
+    private List<Map<String, Object>> jobMetrics(List<SchedulerMetrics.JobSnapshot> snapshots) {
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (SchedulerMetrics.JobSnapshot snapshot : snapshots) {
+            Map<String, Object> job = new HashMap<>();
+            job.put("job", snapshot.job);
+            job.put("inFlight", snapshot.inFlight);
+            job.put("inFlightSince", snapshot.inFlightSince != null ? snapshot.inFlightSince.toString() : null);
+            job.put("runs", snapshot.runs);
+            job.put("failures", snapshot.failures);
+            job.put("failuresByClass", snapshot.failuresByClass);
+            job.put("itemsProcessed", snapshot.itemsProcessed);
+            job.put("lastFinishedAt", snapshot.lastFinishedAt != null ? snapshot.lastFinishedAt.toString() : "Never");
+            job.put("lastDurationMs", snapshot.lastDurationMs);
+            job.put("lastItems", snapshot.lastItems);
+            job.put("lastFailure", snapshot.lastFailure);
+            job.put("meanMs", snapshot.meanMs);
+            job.put("maxMs", snapshot.maxMs);
+            job.put("p50Ms", snapshot.p50Ms);
+            job.put("p95Ms", snapshot.p95Ms);
+            job.put("p99Ms", snapshot.p99Ms);
+            job.put("durationBucketsMs", snapshot.durationBuckets);
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    // Learned interval and next-due time per subscription, soonest first
+    private List<Map<String, Object>> scrapeCadence(List<ScrapeCadenceService.Cadence> schedule) {
+        List<Map<String, Object>> cadence = new ArrayList<>();
+        for (ScrapeCadenceService.Cadence entry : schedule) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("subscription", entry.subscriptionName);
+            item.put("priceChanges", entry.changesInLookback);
+            item.put("intervalHours", Math.round(entry.interval.toMinutes() / 6.0) / 10.0);
+            item.put("lastCheckedAt", entry.lastCheckedAt != null ? entry.lastCheckedAt.toString() : "Never");
+            item.put("nextDueAt", entry.nextDueAt.toString());
+            cadence.add(item);
+        }
+        return cadence;
+    }
+
     /**
      * Manually trigger price scraping (for testing/emergency updates).
      * Returns 409 Conflict if scraping is already in progress.
@@ -1,6 +1,7 @@
 package com.subscriptiontracker.controller;
 
 import com.subscriptiontracker.entity.SubscriptionPlan;
+import com.subscriptiontracker.scraper.ScrapeRunSummary;
 import com.subscriptiontracker.service.PriceScraperService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -49,8 +50,9 @@ public class ScraperTestController {
         Map<String, Object> result = new HashMap<>();
 
         try {
-            priceScraperService.scrapeAllPrices();
+            ScrapeRunSummary summary = priceScraperService.scrapeAllPrices();
             result.put("success", true);
+            result.put("summary", summary);
             result.put("message", "Scraping triggered for all subscriptions");
         } catch (Exception e) {
             result.put("success", false);
@@ -1,9 +1,12 @@
 package com.subscriptiontracker.controller;
 
 import com.subscriptiontracker.dto.ApiResponse;
+import com.subscriptiontracker.dto.PlanPriceChangeDTO;
 import com.subscriptiontracker.dto.SubscriptionDTO;
 import com.subscriptiontracker.dto.SubscriptionPlanDTO;
+import com.subscriptiontracker.entity.PlanPriceChange;
 import com.subscriptiontracker.entity.SubscriptionPlan;
+import com.subscriptiontracker.scraper.ScrapeRunSummary;
 import com.subscriptiontracker.service.PriceScraperService;
 import com.subscriptiontracker.service.SubscriptionService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,8 +56,9 @@ public class SubscriptionController {
     public ResponseEntity<Map<String, Object>> scrapePrices() {
         Map<String, Object> result = new HashMap<>();
         try {
-            priceScraperService.scrapeAllPrices();
+            ScrapeRunSummary summary = priceScraperService.scrapeAllPrices();
             result.put("success", true);
+            result.put("summary", summary);
             result.put("message", "Price scraping triggered for all subscriptions");
         } catch (Exception e) {
             result.put("success", false);
@@ -78,6 +82,16 @@ public class SubscriptionController {
         }
     }
 
+    // Get the latest per-plan price changes for a subscription, newest first (limit is capped at 200)
+    @GetMapping("/{id}/plans/price-changes")
+    public ResponseEntity<ApiResponse<List<PlanPriceChangeDTO>>> getPlanPriceChanges(@PathVariable Long id,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<PlanPriceChangeDTO> changes = priceScraperService.getPlanPriceChanges(id, limit).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+
     // Get plans for a subscription by name
     @GetMapping("/plans/by-name/{name}")
     public ResponseEntity<ApiResponse<List<SubscriptionPlanDTO>>> getSubscriptionPlansByName(
@@ -120,4 +134,19 @@ public class SubscriptionController {
                 .lastScrapedAt(plan.getLastScrapedAt())
                 .build();
     }
+
+    // Convert PlanPriceChange entity to DTO
+    private PlanPriceChangeDTO convertToDTO(PlanPriceChange change) {
+        return PlanPriceChangeDTO.builder()
+                .id(change.getId())
+                .subscriptionId(change.getSubscriptionId())
+                .planName(change.getPlanName())
+                .previousPriceMonthly(change.getPreviousPriceMonthly())
+                .previousPriceYearly(change.getPreviousPriceYearly())
+                .priceMonthly(change.getPriceMonthly())
+                .priceYearly(change.getPriceYearly())
+                .currency(change.getCurrency())
+                .recordedAt(change.getRecordedAt())
+                .build();
+    }
 }
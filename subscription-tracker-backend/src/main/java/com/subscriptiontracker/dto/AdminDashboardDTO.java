@@ -148,5 +148,12 @@ public class AdminDashboardDTO {
         private Double scrapeSuccessRate;
         private Long totalScrapedServices;
         private Long failedScrapes;
+        private Integer windowDays; // Rolling window the figures above cover
+        private Long runsInWindow;
+        private String lastRunStatus;
+        private Double fetchP50Ms;
+        private Double fetchP95Ms;
+        private Double parseP50Ms;
+        private Double parseP95Ms;
     }
 }
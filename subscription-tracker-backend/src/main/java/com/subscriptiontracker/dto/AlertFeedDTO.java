@@ -0,0 +1,18 @@
+package com.subscriptiontracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertFeedDTO {
+    private List<AlertDTO> alerts;
+    private String nextCursor; // Pass back as ?cursor= for the next page; null on the last page
+    private Boolean hasMore;
+}
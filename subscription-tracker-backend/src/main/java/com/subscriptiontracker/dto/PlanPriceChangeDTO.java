@@ -0,0 +1,25 @@
+package com.subscriptiontracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlanPriceChangeDTO {
+
+    private Long id;
+    private Long subscriptionId;
+    private String planName;
+    private Double previousPriceMonthly;
+    private Double previousPriceYearly;
+    private Double priceMonthly;
+    private Double priceYearly;
+    private String currency;
+    private LocalDateTime recordedAt;
+}
@@ -17,5 +17,6 @@ public class UserProfileDTO {
     private String email;
     private Double monthlyIncome;
     private Double monthlyExpenses;
+    private String timezone;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
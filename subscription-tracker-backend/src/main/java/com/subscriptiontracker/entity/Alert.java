@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", indexes = {
+        @Index(name = "idx_alerts_user_read", columnList = "user_id, is_read"),
+        @Index(name = "idx_alerts_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_alerts_created_at", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,41 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far one partition of a chunked job got in a given run, saved with each
+ * chunk it commits. A run that is taken over after a crash continues from
+ * lastId instead of starting the partition again.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String name; // e.g. "renewal-check:partition-3"
+
+    @Column(name = "run_slot", nullable = false)
+    private LocalDateTime runSlot; // Run the progress belongs to
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId; // Highest row id committed in this run
+
+    private Integer processed; // Rows read in this run
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt; // Null until the partition finishes the run
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease on a scheduled job (or one shard of it), so that only
+ * one backend replica runs it at a time. A lease whose expiresAt has passed
+ * without a heartbeat can be taken over by another node.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name; // e.g. "price-scraping" or "price-scraping:shard-2"
+
+    @Column(length = 200)
+    private String owner; // Node id of the current holder, null when released
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt; // Last time a holder finished the job
+
+    @Column(name = "run_kind", length = 40)
+    private String runKind; // Trigger of the current or last run, e.g. "DAILY" or "ADAPTIVE"
+}
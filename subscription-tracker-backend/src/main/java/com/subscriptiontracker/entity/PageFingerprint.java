@@ -0,0 +1,44 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last seen validators and content hash for a scraped pricing page.
+ * Used to send conditional requests and to skip re-parsing pages
+ * that have not changed since their plans were last applied.
+ */
+@Entity
+@Table(name = "page_fingerprints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageFingerprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 1000)
+    private String url;
+
+    private String etag;
+
+    @Column(name = "last_modified")
+    private String lastModified; // Raw Last-Modified header value
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the normalized page text
+
+    @Column(name = "last_fetched_at")
+    private LocalDateTime lastFetchedAt;
+
+    @Column(name = "last_applied_at")
+    private LocalDateTime lastAppliedAt; // Last time plans were written from this page
+}
@@ -0,0 +1,51 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a plan's price, written by the plan reconciliation only when
+ * the monthly or yearly price differs from the stored one. A plan's first
+ * sighting is recorded with no previous prices.
+ */
+@Entity
+@Table(name = "plan_price_changes", indexes = @Index(
+        name = "idx_plan_price_changes_subscription_plan", columnList = "subscription_id, plan_name, recorded_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlanPriceChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "plan_name", nullable = false)
+    private String planName;
+
+    @Column(name = "previous_price_monthly")
+    private Double previousPriceMonthly;
+
+    @Column(name = "previous_price_yearly")
+    private Double previousPriceYearly;
+
+    @Column(name = "price_monthly")
+    private Double priceMonthly;
+
+    @Column(name = "price_yearly")
+    private Double priceYearly;
+
+    private String currency;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
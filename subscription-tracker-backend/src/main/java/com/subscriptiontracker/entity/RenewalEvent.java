@@ -0,0 +1,50 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One billing period an auto-renewing subscription renewed for, written when
+ * its renewal date is rolled forward. Unique per user subscription and
+ * renewal date, so rolling the same period twice records it once.
+ */
+@Entity
+@Table(name = "renewal_events", uniqueConstraints = @UniqueConstraint(
+        name = "uk_renewal_events_subscription_date", columnNames = { "user_subscription_id", "renewal_date" }),
+        indexes = @Index(name = "idx_renewal_events_user_date", columnList = "user_id, renewal_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RenewalEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_subscription_id", nullable = false)
+    private Long userSubscriptionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "renewal_date", nullable = false)
+    private LocalDate renewalDate; // Start of the period renewed for
+
+    @Column(name = "subscription_type", length = 20)
+    private String subscriptionType; // MONTHLY, YEARLY
+
+    private Double amount; // Custom price, else the plan's price for the period type
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,47 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger of reminders already produced: at most one row per user
+ * subscription, renewal date and kind. The renewal job claims a row before
+ * creating the alert, so re-runs and concurrent nodes never repeat one.
+ */
+@Entity
+@Table(name = "renewal_reminders", uniqueConstraints = @UniqueConstraint(
+        name = "uk_renewal_reminders_subscription_date_kind",
+        columnNames = { "user_subscription_id", "renewal_date", "reminder_kind" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RenewalReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_subscription_id", nullable = false)
+    private Long userSubscriptionId;
+
+    @Column(name = "renewal_date", nullable = false)
+    private LocalDate renewalDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reminder_kind", nullable = false, length = 30)
+    private Kind reminderKind;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Kind {
+        RENEWAL_REMINDER
+    }
+}
@@ -0,0 +1,68 @@
+package com.subscriptiontracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One price scraping run, with its totals. The per-subscription detail is
+ * kept in {@link ScrapeRunEntry}.
+ */
+@Entity
+@Table(name = "scrape_runs", indexes = {
+        @Index(name = "idx_scrape_runs_started_at", columnList = "started_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScrapeRun {
+
+    public enum Status {
+        COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_trigger", nullable = false, length = 20)
+    private String trigger; // SCHEDULED, MANUAL, API
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "pages_requested")
+    private Integer pagesRequested;
+
+    private Integer scraped;
+
+    private Integer fallback;
+
+    private Integer skipped;
+
+    private Integer requests;
+
+    @Column(name = "bytes_received")
+    private Long bytesReceived;
+
+    @Column(name = "connections_reused")
+    private Integer connectionsReused;
+
+    @Column(length = 500)
+    private String error; // Why a FAILED run stopped
+}
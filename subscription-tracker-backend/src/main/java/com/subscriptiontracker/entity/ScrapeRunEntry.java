@@ -0,0 +1,70 @@
+package com.subscriptiontracker.entity;
+
+import com.subscriptiontracker.scraper.ScrapeErrorClass;
+import com.subscriptiontracker.scraper.ScrapeOutcome;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * What one scrape run did for one subscription: how long the fetch and the
+ * parse took, what came back and why it fell back, if it did.
+ */
+@Entity
+@Table(name = "scrape_run_entries", indexes = {
+        @Index(name = "idx_scrape_run_entries_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScrapeRunEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private ScrapeRun run;
+
+    @Column(name = "subscription_name", nullable = false)
+    private String subscriptionName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ScrapeOutcome outcome;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "error_class", length = 20)
+    private ScrapeErrorClass errorClass; // Null unless the outcome is FALLBACK
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "fetch_ms")
+    private Double fetchMs; // Null when no fetch was made
+
+    @Column(name = "parse_ms")
+    private Double parseMs;
+
+    @Column(name = "bytes_received")
+    private Long bytesReceived;
+
+    @Column(name = "plan_count")
+    private Integer planCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -10,7 +10,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "subscription_plans")
+@Table(name = "subscription_plans", uniqueConstraints = @UniqueConstraint(
+        name = "uk_subscription_plans_subscription_plan_name", columnNames = { "subscription_id", "plan_name" }))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
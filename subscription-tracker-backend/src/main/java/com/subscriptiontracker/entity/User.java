@@ -55,6 +55,15 @@ public class User {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    @Column(length = 50)
+    private String timezone; // IANA zone id for reminders, e.g. "Asia/Kolkata"; null uses app.scheduling.timezone
+
+    // Denormalized unread alert count, null until first counted. Only written
+    // by the alert queries in UserRepository and AlertRepositoryImpl, so saving
+    // a User never overwrites it with a stale value.
+    @Column(name = "unread_alert_count", insertable = false, updatable = false)
+    private Long unreadAlertCount;
+
     // Relationship: One user can have many subscriptions
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<UserSubscription> subscriptions = new ArrayList<>();
@@ -10,7 +10,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_subscriptions")
+@Table(name = "user_subscriptions", indexes = {
+        @Index(name = "idx_user_subscriptions_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_user_subscriptions_renewal_date", columnList = "renewal_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,6 +44,10 @@ public class UserSubscription {
     @Column(name = "renewal_date")
     private LocalDate renewalDate;
 
+    // Day of month renewals fall on, clamped in shorter months; set by the first roll-forward
+    @Column(name = "renewal_anchor_day")
+    private Integer renewalAnchorDay;
+
     @Column(name = "is_active")
     private Boolean isActive;
 
@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "watchlist")
+@Table(name = "watchlist", indexes = @Index(name = "idx_watchlist_price_drop",
+        columnList = "subscription_id, notify_on_price_drop, target_price"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
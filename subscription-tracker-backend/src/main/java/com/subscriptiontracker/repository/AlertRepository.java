@@ -1,14 +1,84 @@
 package com.subscriptiontracker.repository;
 
+import com.subscriptiontracker.dto.AlertDTO;
 import com.subscriptiontracker.entity.Alert;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, Long> {
-    List<Alert> findByUserIdOrderByCreatedAtDesc(Long userId);
-    List<Alert> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
-    Long countByUserIdAndIsReadFalse(Long userId);
+public interface AlertRepository extends JpaRepository<Alert, Long>, AlertRepositoryCustom {
+
+    // AlertDTO columns with the subscription name joined in, for the queries below
+    String ALERT_DTO_SELECT = "SELECT new com.subscriptiontracker.dto.AlertDTO(" +
+            "a.id, a.alertType, a.title, a.message, s.name, a.isRead, a.createdAt) " +
+            "FROM Alert a LEFT JOIN a.subscription s ";
+
+    // Newest first; optional type and read-state filters
+    String ALERT_FEED_FILTER = "WHERE a.user.id = :userId " +
+            "AND (:alertType IS NULL OR a.alertType = :alertType) " +
+            "AND (:isRead IS NULL OR a.isRead = :isRead) ";
+
+    @Query(ALERT_DTO_SELECT + "WHERE a.user.id = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<AlertDTO> findAlertDTOsByUserId(@Param("userId") Long userId);
+
+    @Query(ALERT_DTO_SELECT + "WHERE a.user.id = :userId AND a.isRead = false " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AlertDTO> findUnreadAlertDTOsByUserId(@Param("userId") Long userId);
+
+    // First page of the alert feed, served by idx_alerts_user_created
+    @Query(ALERT_DTO_SELECT + ALERT_FEED_FILTER + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AlertDTO> findFeed(@Param("userId") Long userId, @Param("alertType") String alertType,
+            @Param("isRead") Boolean isRead, Pageable pageable);
+
+    // Next page of the alert feed: alerts strictly before the cursor (createdAt, id)
+    @Query(ALERT_DTO_SELECT + ALERT_FEED_FILTER +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AlertDTO> findFeedBefore(@Param("userId") Long userId, @Param("alertType") String alertType,
+            @Param("isRead") Boolean isRead, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    // Alert stream tail: rows of [userId, alert] created since a time, in id
+    // order after afterId, with the subscription fetched for the event body
+    @Query("SELECT a.user.id, a FROM Alert a LEFT JOIN FETCH a.subscription " +
+            "WHERE a.createdAt >= :since AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findCreatedSinceForStream(@Param("since") LocalDateTime since,
+            @Param("afterId") long afterId, Pageable pageable);
+
+    // Alert stream replay: a user's newest alerts after the last one they received
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.subscription " +
+            "WHERE a.user.id = :userId AND a.id > :afterId ORDER BY a.id DESC")
+    List<Alert> findLatestForStream(@Param("userId") Long userId, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    // The conditional writes below return whether the alert was unread, so the
+    // unread counter is adjusted exactly once under concurrent requests
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true WHERE a.id = :alertId AND a.isRead = false")
+    int markReadIfUnread(@Param("alertId") Long alertId);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true WHERE a.user.id = :userId AND a.isRead = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Alert a WHERE a.id = :alertId AND a.isRead = :isRead")
+    int deleteByIdAndIsRead(@Param("alertId") Long alertId, @Param("isRead") Boolean isRead);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true WHERE a.user.id = :userId AND a.isRead = false " +
+            "AND a.createdAt < :before")
+    int markReadByUserIdBefore(@Param("userId") Long userId, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM Alert a WHERE a.user.id = :userId AND a.isRead = true AND a.createdAt < :before")
+    int deleteReadByUserIdBefore(@Param("userId") Long userId, @Param("before") LocalDateTime before);
 }
\ No newline at end of file
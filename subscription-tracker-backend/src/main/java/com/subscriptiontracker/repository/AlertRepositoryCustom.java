@@ -0,0 +1,57 @@
+package com.subscriptiontracker.repository;
+
+import java.util.List;
+
+/**
+ * Bulk write path for alerts, implemented in AlertRepositoryImpl.
+ */
+public interface AlertRepositoryCustom {
+
+    /**
+     * Insert alerts as one batched INSERT, without loading or managing any
+     * entities. New alerts are unread and have no email sent; each user's
+     * unread alert counter is raised by their number of new alerts.
+     *
+     * @return number of rows inserted
+     */
+    int insertAll(List<NewAlert> alerts);
+
+    /**
+     * Delete all of a user's alerts of one type in a single statement.
+     *
+     * @return how many were deleted, and how many of those were unread
+     */
+    DeletedAlerts deleteByUserIdAndAlertType(Long userId, String alertType);
+
+    /**
+     * Counts from one bulk delete.
+     */
+    class DeletedAlerts {
+        public final int deleted;
+        public final int unread;
+
+        public DeletedAlerts(int deleted, int unread) {
+            this.deleted = deleted;
+            this.unread = unread;
+        }
+    }
+
+    /**
+     * Column values for one alert to insert.
+     */
+    class NewAlert {
+        public final Long userId;
+        public final Long subscriptionId;
+        public final String alertType;
+        public final String title;
+        public final String message;
+
+        public NewAlert(Long userId, Long subscriptionId, String alertType, String title, String message) {
+            this.userId = userId;
+            this.subscriptionId = subscriptionId;
+            this.alertType = alertType;
+            this.title = title;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.subscriptiontracker.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of the bulk alert write path. Runs inside the caller's
+ * transaction (JdbcTemplate shares the JPA connection); alerts use IDENTITY
+ * ids, which Hibernate cannot batch.
+ */
+public class AlertRepositoryImpl implements AlertRepositoryCustom {
+
+    private static final String INSERT_ALERT_SQL = "INSERT INTO alerts (user_id, subscription_id, alert_type, "
+            + "title, message, is_read, is_email_sent, created_at) VALUES (?, ?, ?, ?, ?, false, false, ?)";
+
+    private static final int[] INSERT_ALERT_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private static final String INCREMENT_UNREAD_SQL = "UPDATE users SET unread_alert_count = "
+            + "unread_alert_count + ? WHERE id = ?";
+
+    // Returns the deleted and unread-deleted counts from the one DELETE
+    private static final String DELETE_BY_TYPE_SQL = "WITH deleted AS (DELETE FROM alerts "
+            + "WHERE user_id = ? AND alert_type = ? RETURNING is_read) "
+            + "SELECT COUNT(*) AS deleted, COUNT(*) FILTER (WHERE NOT is_read) AS unread FROM deleted";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAll(List<NewAlert> alerts) {
+        if (alerts.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(alerts.size());
+        // Sorted by user id so concurrent batches lock user rows in the same order
+        Map<Long, Long> perUser = new TreeMap<>();
+        for (NewAlert alert : alerts) {
+            rows.add(new Object[] { alert.userId, alert.subscriptionId, alert.alertType, alert.title,
+                    alert.message, now });
+            perUser.merge(alert.userId, 1L, Long::sum);
+        }
+        jdbcTemplate.batchUpdate(INSERT_ALERT_SQL, rows, INSERT_ALERT_TYPES);
+
+        List<Object[]> increments = new ArrayList<>(perUser.size());
+        perUser.forEach((userId, count) -> increments.add(new Object[] { count, userId }));
+        jdbcTemplate.batchUpdate(INCREMENT_UNREAD_SQL, increments, new int[] { Types.BIGINT, Types.BIGINT });
+        return rows.size();
+    }
+
+    @Override
+    public DeletedAlerts deleteByUserIdAndAlertType(Long userId, String alertType) {
+        return jdbcTemplate.queryForObject(DELETE_BY_TYPE_SQL,
+                (rs, rowNum) -> new DeletedAlerts(rs.getInt("deleted"), rs.getInt("unread")),
+                userId, alertType);
+    }
+}
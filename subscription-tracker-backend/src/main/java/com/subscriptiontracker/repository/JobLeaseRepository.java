@@ -0,0 +1,66 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Every lease change is a single conditional statement, so two nodes racing
+ * for the same lease cannot both win.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Create the lease row the first time a job is seen
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO job_leases (name) VALUES (:name) ON CONFLICT (name) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(String name);
+
+    // Take a free or expired lease, unless the job already completed at or after runSlot
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.acquiredAt = :now, l.heartbeatAt = :now, " +
+            "l.expiresAt = :expiresAt, l.runKind = :runKind WHERE l.name = :name " +
+            "AND (l.owner IS NULL OR l.expiresAt < :now) " +
+            "AND (l.completedAt IS NULL OR l.completedAt < :runSlot)")
+    int tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime expiresAt,
+            LocalDateTime runSlot, String runKind);
+
+    @Query("SELECT l.runKind FROM JobLease l WHERE l.name = :name")
+    String findRunKind(String name);
+
+    // Take over a lease whose holder stopped heartbeating mid-job; its run kind is kept
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.acquiredAt = :now, l.heartbeatAt = :now, " +
+            "l.expiresAt = :expiresAt WHERE l.name = :name " +
+            "AND l.owner IS NOT NULL AND l.expiresAt < :now " +
+            "AND (l.completedAt IS NULL OR l.completedAt < :runSlot)")
+    int tryTakeOver(String name, String owner, LocalDateTime now, LocalDateTime expiresAt,
+            LocalDateTime runSlot);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.heartbeatAt = :now, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND l.owner = :owner")
+    int heartbeat(String name, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    // Give up a lease without marking the job done, e.g. after it failed
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.name = :name AND l.owner = :owner")
+    int release(String name, String owner);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.owner = NULL, l.expiresAt = NULL, l.completedAt = :completedAt " +
+            "WHERE l.name = :name AND l.owner = :owner")
+    int complete(String name, String owner, LocalDateTime completedAt);
+}
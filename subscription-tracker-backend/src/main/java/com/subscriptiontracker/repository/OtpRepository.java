@@ -30,7 +30,7 @@ public interface OtpRepository extends JpaRepository<Otp, Long> {
     @Modifying
     @Transactional
     @Query("DELETE FROM Otp o WHERE o.expiresAt < :now")
-    void deleteExpiredOtps(LocalDateTime now);
+    int deleteExpiredOtps(LocalDateTime now);
 
     // Delete all OTPs for an email (after successful registration)
     @Modifying
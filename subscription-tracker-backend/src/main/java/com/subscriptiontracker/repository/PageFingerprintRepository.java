@@ -0,0 +1,12 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.PageFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PageFingerprintRepository extends JpaRepository<PageFingerprint, Long> {
+    Optional<PageFingerprint> findByUrl(String url);
+}
@@ -0,0 +1,14 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.PlanPriceChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlanPriceChangeRepository extends JpaRepository<PlanPriceChange, Long> {
+
+    List<PlanPriceChange> findBySubscriptionIdOrderByRecordedAtDescIdDesc(Long subscriptionId, Pageable pageable);
+}
@@ -23,4 +23,9 @@ public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long
     @Query("SELECT ph FROM PriceHistory ph WHERE ph.subscription.id = :subscriptionId " +
             "ORDER BY ph.recordedAt DESC LIMIT 1")
     PriceHistory findLatestPriceBySubscription(@Param("subscriptionId") Long subscriptionId);
-}
\ No newline at end of file
+
+    // Recorded price changes per subscription since a date: rows of [subscriptionId, count]
+    @Query("SELECT ph.subscription.id, COUNT(ph) FROM PriceHistory ph " +
+            "WHERE ph.recordedAt >= :since GROUP BY ph.subscription.id")
+    List<Object[]> countChangesBySubscriptionSince(@Param("since") LocalDateTime since);
+}
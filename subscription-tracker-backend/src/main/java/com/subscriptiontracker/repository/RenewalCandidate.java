@@ -0,0 +1,38 @@
+package com.subscriptiontracker.repository;
+
+import java.time.LocalDate;
+
+/**
+ * The columns the renewal reminder job needs from one active user
+ * subscription, read with its user and subscription in a single join.
+ */
+public class RenewalCandidate {
+    public final Long userSubscriptionId;
+    public final Long userId;
+    public final Long subscriptionId;
+    public final String subscriptionName;
+    public final LocalDate renewalDate;
+    public final Integer reminderDaysBefore;
+    public final Double customPrice;
+    public final Double priceMonthly;
+    public final String userTimezone; // Null if the user has not set one
+
+    public RenewalCandidate(Long userSubscriptionId, Long userId, Long subscriptionId, String subscriptionName,
+            LocalDate renewalDate, Integer reminderDaysBefore, Double customPrice, Double priceMonthly,
+            String userTimezone) {
+        this.userSubscriptionId = userSubscriptionId;
+        this.userId = userId;
+        this.subscriptionId = subscriptionId;
+        this.subscriptionName = subscriptionName;
+        this.renewalDate = renewalDate;
+        this.reminderDaysBefore = reminderDaysBefore;
+        this.customPrice = customPrice;
+        this.priceMonthly = priceMonthly;
+        this.userTimezone = userTimezone;
+    }
+
+    // Amount shown in the reminder: the user's own price, else the plan's monthly price
+    public Double getRenewalAmount() {
+        return customPrice != null ? customPrice : priceMonthly;
+    }
+}
@@ -0,0 +1,9 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.RenewalEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RenewalEventRepository extends JpaRepository<RenewalEvent, Long> {
+}
@@ -0,0 +1,9 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.RenewalReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RenewalReminderRepository extends JpaRepository<RenewalReminder, Long>, RenewalReminderRepositoryCustom {
+}
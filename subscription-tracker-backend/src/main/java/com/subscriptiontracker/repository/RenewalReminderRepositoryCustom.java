@@ -0,0 +1,22 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.RenewalReminder;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk claim path for the reminder ledger, implemented in
+ * RenewalReminderRepositoryImpl.
+ */
+public interface RenewalReminderRepositoryCustom {
+
+    /**
+     * Record a reminder of the given kind for each renewal, skipping any
+     * already recorded for the same user subscription and renewal date.
+     *
+     * @return ids of the user subscriptions recorded by this call; a renewal
+     *         missing from the set was reminded before, or by another node
+     */
+    Set<Long> claimAll(RenewalReminder.Kind kind, List<RenewalCandidate> renewals);
+}
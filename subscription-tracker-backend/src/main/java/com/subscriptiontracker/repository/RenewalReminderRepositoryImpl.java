@@ -0,0 +1,63 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.RenewalReminder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC implementation of the reminder ledger claim. Runs inside the caller's
+ * transaction (JdbcTemplate shares the JPA connection), so a claim is undone
+ * if the alerts it was taken for fail to insert.
+ */
+public class RenewalReminderRepositoryImpl implements RenewalReminderRepositoryCustom {
+
+    private static final String INSERT_PREFIX = "INSERT INTO renewal_reminders "
+            + "(user_subscription_id, renewal_date, reminder_kind, created_at) VALUES ";
+
+    private static final String INSERT_SUFFIX = " ON CONFLICT (user_subscription_id, renewal_date, reminder_kind) "
+            + "DO NOTHING RETURNING user_subscription_id";
+
+    // Keeps each statement well under the driver's bind parameter limit
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Long> claimAll(RenewalReminder.Kind kind, List<RenewalCandidate> renewals) {
+        if (renewals.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<Long> claimed = new HashSet<>();
+        for (int from = 0; from < renewals.size(); from += ROWS_PER_STATEMENT) {
+            List<RenewalCandidate> rows = renewals.subList(from, Math.min(renewals.size(), from + ROWS_PER_STATEMENT));
+
+            // One multi-row insert; RETURNING lists only the rows that did not conflict
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            List<Object> args = new ArrayList<>(rows.size() * 4);
+            for (int i = 0; i < rows.size(); i++) {
+                sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+                RenewalCandidate renewal = rows.get(i);
+                args.add(renewal.userSubscriptionId);
+                args.add(Date.valueOf(renewal.renewalDate));
+                args.add(kind.name());
+                args.add(now);
+            }
+            sql.append(INSERT_SUFFIX);
+
+            claimed.addAll(jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray()));
+        }
+        return claimed;
+    }
+}
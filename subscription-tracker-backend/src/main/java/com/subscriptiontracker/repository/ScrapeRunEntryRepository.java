@@ -0,0 +1,31 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.ScrapeRunEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScrapeRunEntryRepository extends JpaRepository<ScrapeRunEntry, Long> {
+
+    List<ScrapeRunEntry> findByCreatedAtAfter(LocalDateTime since);
+
+    // Pages actually fetched since a time, across every node
+    long countByCreatedAtAfterAndFetchMsIsNotNull(LocalDateTime since);
+
+    // Last time each subscription was checked since a time: rows of [subscriptionName, createdAt]
+    @Query("SELECT e.subscriptionName, MAX(e.createdAt) FROM ScrapeRunEntry e "
+            + "WHERE e.createdAt >= :since GROUP BY e.subscriptionName")
+    List<Object[]> findLastCheckedSince(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScrapeRunEntry e WHERE e.run.id IN "
+            + "(SELECT r.id FROM ScrapeRun r WHERE r.startedAt < :cutoff)")
+    int deleteForRunsStartedBefore(LocalDateTime cutoff);
+}
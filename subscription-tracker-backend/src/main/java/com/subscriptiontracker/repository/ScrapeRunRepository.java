@@ -0,0 +1,27 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.ScrapeRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ScrapeRunRepository extends JpaRepository<ScrapeRun, Long> {
+
+    Optional<ScrapeRun> findFirstByOrderByStartedAtDesc();
+
+    long countByStartedAtAfter(LocalDateTime since);
+
+    long countByStartedAtAfterAndStatus(LocalDateTime since, ScrapeRun.Status status);
+
+    // Delete runs past retention; their entries must be deleted first
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScrapeRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(LocalDateTime cutoff);
+}
@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SubscriptionPlanRepository extends JpaRepository<SubscriptionPlan, Long> {
+public interface SubscriptionPlanRepository extends JpaRepository<SubscriptionPlan, Long>, SubscriptionPlanRepositoryCustom {
 
     // Find all plans for a specific subscription
     List<SubscriptionPlan> findBySubscriptionOrderByPriceMonthlyAsc(Subscription subscription);
@@ -20,9 +20,6 @@ public interface SubscriptionPlanRepository extends JpaRepository<SubscriptionPl
     @Query("SELECT sp FROM SubscriptionPlan sp JOIN FETCH sp.subscription WHERE sp.subscription.id = :subscriptionId ORDER BY sp.priceMonthly ASC")
     List<SubscriptionPlan> findBySubscriptionIdOrderByPriceMonthlyAsc(@Param("subscriptionId") Long subscriptionId);
 
-    // Find a specific plan by subscription and plan name
-    Optional<SubscriptionPlan> findBySubscriptionAndPlanName(Subscription subscription, String planName);
-
     // Find a specific plan by subscription ID and plan name
     Optional<SubscriptionPlan> findBySubscriptionIdAndPlanName(Long subscriptionId, String planName);
 
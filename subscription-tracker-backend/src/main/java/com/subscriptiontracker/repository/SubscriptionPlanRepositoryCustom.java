@@ -0,0 +1,57 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.entity.SubscriptionPlan;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Bulk write path for scraped plans, implemented in SubscriptionPlanRepositoryImpl.
+ */
+public interface SubscriptionPlanRepositoryCustom {
+
+    /**
+     * Bring a subscription's stored plans in line with the desired set.
+     *
+     * Existing plans are loaded with one query and diffed by plan name in memory.
+     * New and changed plans go out as one batched INSERT ... ON CONFLICT
+     * (subscription_id, plan_name) DO UPDATE, removals as one batched DELETE.
+     * Plans whose values are unchanged are not written at all.
+     *
+     * New plans and plans whose monthly or yearly price moved also get a row
+     * in plan_price_changes, in the same batch. The stored plans read for the
+     * diff are the last known prices, so detecting a change costs no query.
+     *
+     * @param subscriptionId owning subscription
+     * @param desired        plans to insert or update, matched by plan name
+     * @param removeIfAbsent decides whether a stored plan missing from
+     *                       {@code desired} is deleted
+     */
+    PlanReconciliation reconcilePlans(Long subscriptionId, List<SubscriptionPlan> desired,
+            Predicate<SubscriptionPlan> removeIfAbsent);
+
+    /**
+     * Row counts from one reconciliation.
+     */
+    class PlanReconciliation {
+        public final int inserted;
+        public final int updated;
+        public final int unchanged;
+        public final int deleted;
+        public final int priceChanges;
+
+        public PlanReconciliation(int inserted, int updated, int unchanged, int deleted, int priceChanges) {
+            this.inserted = inserted;
+            this.updated = updated;
+            this.unchanged = unchanged;
+            this.deleted = deleted;
+            this.priceChanges = priceChanges;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d inserted, %d updated, %d unchanged, %d deleted, %d price changes",
+                    inserted, updated, unchanged, deleted, priceChanges);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.subscriptiontracker.repository;
+
+import com.subscriptiontracker.config.PlanConstraintMigration;
+import com.subscriptiontracker.entity.SubscriptionPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * JDBC implementation of the bulk plan write path. Runs inside the caller's
+ * transaction (JdbcTemplate shares the JPA connection) and bypasses the
+ * persistence context, so no plan entities are loaded or dirty-checked.
+ */
+public class SubscriptionPlanRepositoryImpl implements SubscriptionPlanRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionPlanRepositoryImpl.class);
+
+    private static final String SELECT_PLANS_SQL = "SELECT id, plan_name, price_monthly, price_yearly, currency, "
+            + "video_quality, max_screens, download_devices, has_ads, features, extra_features, device_types, "
+            + "is_active FROM subscription_plans WHERE subscription_id = ?";
+
+    private static final String INSERT_PLAN_SQL = "INSERT INTO subscription_plans (subscription_id, plan_name, "
+            + "price_monthly, price_yearly, currency, video_quality, max_screens, download_devices, has_ads, "
+            + "features, extra_features, device_types, is_active, last_scraped_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_PLAN_SQL = INSERT_PLAN_SQL + " ON CONFLICT (subscription_id, plan_name) DO UPDATE SET "
+            + "price_monthly = EXCLUDED.price_monthly, price_yearly = EXCLUDED.price_yearly, "
+            + "currency = EXCLUDED.currency, video_quality = EXCLUDED.video_quality, "
+            + "max_screens = EXCLUDED.max_screens, download_devices = EXCLUDED.download_devices, "
+            + "has_ads = EXCLUDED.has_ads, features = EXCLUDED.features, "
+            + "extra_features = EXCLUDED.extra_features, device_types = EXCLUDED.device_types, "
+            + "is_active = EXCLUDED.is_active, last_scraped_at = EXCLUDED.last_scraped_at, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final int[] UPSERT_PLAN_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER, Types.BOOLEAN, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+
+    // Fallback when the unique constraint is missing: same parameters, matched by id
+    private static final String UPDATE_PLAN_SQL = "UPDATE subscription_plans SET price_monthly = ?, "
+            + "price_yearly = ?, currency = ?, video_quality = ?, max_screens = ?, download_devices = ?, "
+            + "has_ads = ?, features = ?, extra_features = ?, device_types = ?, is_active = ?, "
+            + "last_scraped_at = ?, updated_at = ? WHERE id = ?";
+
+    private static final int[] UPDATE_PLAN_TYPES = {
+            Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER,
+            Types.BOOLEAN, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP,
+            Types.TIMESTAMP, Types.BIGINT
+    };
+
+    private static final String INSERT_PRICE_CHANGE_SQL = "INSERT INTO plan_price_changes (subscription_id, "
+            + "plan_name, previous_price_monthly, previous_price_yearly, price_monthly, price_yearly, currency, "
+            + "recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_PRICE_CHANGE_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR,
+            Types.TIMESTAMP
+    };
+
+    private static final String DELETE_PLAN_SQL = "DELETE FROM subscription_plans WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Whether ON CONFLICT can be used; checked once, after PlanConstraintMigration has run
+    private volatile Boolean upsertSupported;
+
+    @Override
+    public PlanReconciliation reconcilePlans(Long subscriptionId, List<SubscriptionPlan> desired,
+            Predicate<SubscriptionPlan> removeIfAbsent) {
+        Map<String, SubscriptionPlan> existingByName = new HashMap<>();
+        for (SubscriptionPlan plan : jdbcTemplate.query(SELECT_PLANS_SQL, (rs, rowNum) -> SubscriptionPlan.builder()
+                .id(rs.getLong("id"))
+                .planName(rs.getString("plan_name"))
+                .priceMonthly(rs.getObject("price_monthly", Double.class))
+                .priceYearly(rs.getObject("price_yearly", Double.class))
+                .currency(rs.getString("currency"))
+                .videoQuality(rs.getString("video_quality"))
+                .maxScreens(rs.getObject("max_screens", Integer.class))
+                .downloadDevices(rs.getObject("download_devices", Integer.class))
+                .hasAds(rs.getObject("has_ads", Boolean.class))
+                .features(rs.getString("features"))
+                .extraFeatures(rs.getString("extra_features"))
+                .deviceTypes(rs.getString("device_types"))
+                .isActive(rs.getObject("is_active", Boolean.class))
+                .build(), subscriptionId)) {
+            existingByName.put(plan.getPlanName(), plan);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> updatesById = new ArrayList<>();
+        List<Object[]> priceChanges = new ArrayList<>();
+        Set<String> desiredNames = new HashSet<>();
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+
+        for (SubscriptionPlan plan : desired) {
+            desiredNames.add(plan.getPlanName());
+            SubscriptionPlan existing = existingByName.get(plan.getPlanName());
+
+            if (existing == null) {
+                inserted++;
+            } else if (sameValues(existing, plan)) {
+                unchanged++;
+                continue;
+            } else {
+                updated++;
+            }
+
+            if (existing == null || !samePrices(existing, plan)) {
+                priceChanges.add(new Object[] {
+                        subscriptionId, plan.getPlanName(),
+                        existing != null ? existing.getPriceMonthly() : null,
+                        existing != null ? existing.getPriceYearly() : null,
+                        plan.getPriceMonthly(), plan.getPriceYearly(), plan.getCurrency(), now
+                });
+            }
+
+            if (existing != null && !upsertSupported()) {
+                updatesById.add(new Object[] {
+                        plan.getPriceMonthly(), plan.getPriceYearly(), plan.getCurrency(), plan.getVideoQuality(),
+                        plan.getMaxScreens(), plan.getDownloadDevices(), plan.getHasAds(), plan.getFeatures(),
+                        plan.getExtraFeatures(), plan.getDeviceTypes(), plan.getIsActive(), now, now,
+                        existing.getId()
+                });
+                continue;
+            }
+
+            upserts.add(new Object[] {
+                    subscriptionId, plan.getPlanName(), plan.getPriceMonthly(), plan.getPriceYearly(),
+                    plan.getCurrency(), plan.getVideoQuality(), plan.getMaxScreens(), plan.getDownloadDevices(),
+                    plan.getHasAds(), plan.getFeatures(), plan.getExtraFeatures(), plan.getDeviceTypes(),
+                    plan.getIsActive(), now, now, now
+            });
+        }
+
+        List<Object[]> deletes = new ArrayList<>();
+        for (SubscriptionPlan existing : existingByName.values()) {
+            if (!desiredNames.contains(existing.getPlanName()) && removeIfAbsent.test(existing)) {
+                deletes.add(new Object[] { existing.getId() });
+            }
+        }
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(upsertSupported() ? UPSERT_PLAN_SQL : INSERT_PLAN_SQL, upserts,
+                    UPSERT_PLAN_TYPES);
+        }
+        if (!updatesById.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PLAN_SQL, updatesById, UPDATE_PLAN_TYPES);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_PLAN_SQL, deletes, new int[] { Types.BIGINT });
+        }
+        if (!priceChanges.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRICE_CHANGE_SQL, priceChanges, INSERT_PRICE_CHANGE_TYPES);
+        }
+
+        return new PlanReconciliation(inserted, updated, unchanged, deletes.size(), priceChanges.size());
+    }
+
+    private boolean upsertSupported() {
+        if (upsertSupported == null) {
+            Integer count = jdbcTemplate.queryForObject(PlanConstraintMigration.CONSTRAINT_EXISTS_SQL, Integer.class);
+            upsertSupported = count != null && count > 0;
+            if (!upsertSupported) {
+                logger.warn("{} is missing; plan writes use insert/update-by-id",
+                        PlanConstraintMigration.CONSTRAINT_NAME);
+            }
+        }
+        return upsertSupported;
+    }
+
+    private static boolean samePrices(SubscriptionPlan a, SubscriptionPlan b) {
+        return Objects.equals(a.getPriceMonthly(), b.getPriceMonthly())
+                && Objects.equals(a.getPriceYearly(), b.getPriceYearly());
+    }
+
+    // Compare every column the scraper writes, ignoring timestamps
+    private static boolean sameValues(SubscriptionPlan a, SubscriptionPlan b) {
+        return Objects.equals(a.getPriceMonthly(), b.getPriceMonthly())
+                && Objects.equals(a.getPriceYearly(), b.getPriceYearly())
+                && Objects.equals(a.getCurrency(), b.getCurrency())
+                && Objects.equals(a.getVideoQuality(), b.getVideoQuality())
+                && Objects.equals(a.getMaxScreens(), b.getMaxScreens())
+                && Objects.equals(a.getDownloadDevices(), b.getDownloadDevices())
+                && Objects.equals(a.getHasAds(), b.getHasAds())
+                && Objects.equals(a.getFeatures(), b.getFeatures())
+                && Objects.equals(a.getExtraFeatures(), b.getExtraFeatures())
+                && Objects.equals(a.getDeviceTypes(), b.getDeviceTypes())
+                && Objects.equals(a.getIsActive(), b.getIsActive());
+    }
+}
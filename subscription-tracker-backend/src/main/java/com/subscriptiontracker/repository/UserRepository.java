@@ -2,11 +2,13 @@ package com.subscriptiontracker.repository;
 
 import com.subscriptiontracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +31,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<Object[]> getUserGrowthByMonth(@Param("since") LocalDateTime since);
 
     List<User> findAllByOrderByCreatedAtDesc();
+
+    // Unread alert counter: null until counted once
+    @Query("SELECT u.unreadAlertCount FROM User u WHERE u.id = :userId")
+    Long findUnreadAlertCount(@Param("userId") Long userId);
+
+    // Rows of [userId, unreadAlertCount] for several users
+    @Query("SELECT u.id, u.unreadAlertCount FROM User u WHERE u.id IN :userIds")
+    List<Object[]> findUnreadAlertCounts(@Param("userIds") Collection<Long> userIds);
+
+    // Lock the user's row so counter increments wait for the initialisation
+    // below, and read the counter as it stands once the lock is held
+    @Query(value = "SELECT unread_alert_count FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockUnreadAlertCount(@Param("userId") Long userId);
+
+    // Count the user's unread alerts into the counter if it was never set.
+    // Run under lockUnreadAlertCount: the count then sees every alert whose
+    // increment hit the null counter before the lock was taken
+    @Modifying
+    @Query(value = "UPDATE users SET unread_alert_count = (SELECT COUNT(*) FROM alerts a " +
+            "WHERE a.user_id = :userId AND a.is_read = false) " +
+            "WHERE id = :userId AND unread_alert_count IS NULL", nativeQuery = true)
+    int initUnreadAlertCount(@Param("userId") Long userId);
+
+    // Atomic in-place adjustment; a counter not yet set stays null
+    @Modifying
+    @Query("UPDATE User u SET u.unreadAlertCount = u.unreadAlertCount + :delta WHERE u.id = :userId")
+    int adjustUnreadAlertCount(@Param("userId") Long userId, @Param("delta") long delta);
 }
@@ -1,16 +1,26 @@
 package com.subscriptiontracker.repository;
 
 import com.subscriptiontracker.entity.UserSubscription;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface UserSubscriptionRepository extends JpaRepository<UserSubscription, Long> {
+public interface UserSubscriptionRepository extends JpaRepository<UserSubscription, Long>,
+                UserSubscriptionRepositoryCustom {
+
+        // Columns of RenewalCandidate, for the renewal reminder queries below
+        String RENEWAL_CANDIDATE_SELECT = "SELECT new com.subscriptiontracker.repository.RenewalCandidate(" +
+                        "us.id, u.id, s.id, s.name, us.renewalDate, us.reminderDaysBefore, us.customPrice, " +
+                        "s.priceMonthly, u.timezone) " +
+                        "FROM UserSubscription us JOIN us.user u JOIN us.subscription s ";
 
         List<UserSubscription> findByUserIdAndIsActiveTrue(Long userId);
 
@@ -24,6 +34,38 @@ public interface UserSubscriptionRepository extends JpaRepository<UserSubscripti
         List<UserSubscription> findUpcomingRenewals(@Param("startDate") LocalDate startDate,
                         @Param("endDate") LocalDate endDate);
 
+        // One keyset page of active renewals in a date range, for the users whose id mod partitions
+        // is partition, with the user and subscription columns joined in; pass the last id seen as afterId
+        @Query(RENEWAL_CANDIDATE_SELECT + "WHERE us.isActive = true AND us.renewalDate BETWEEN :startDate AND :endDate " +
+                        "AND MOD(u.id, :partitions) = :partition AND us.id > :afterId ORDER BY us.id ASC")
+        List<RenewalCandidate> findRenewalCandidatesInPartition(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate, @Param("partitions") int partitions,
+                        @Param("partition") int partition, @Param("afterId") Long afterId, Pageable pageable);
+
+        // Keyset page of every active subscription still to renew on or after fromDate
+        @Query(RENEWAL_CANDIDATE_SELECT + "WHERE us.isActive = true AND us.renewalDate >= :fromDate " +
+                        "AND us.id > :afterId ORDER BY us.id ASC")
+        List<RenewalCandidate> findRenewalCandidatesFrom(@Param("fromDate") LocalDate fromDate,
+                        @Param("afterId") Long afterId, Pageable pageable);
+
+        @Query(RENEWAL_CANDIDATE_SELECT + "WHERE us.isActive = true AND us.id IN :ids")
+        List<RenewalCandidate> findRenewalCandidatesByIds(@Param("ids") Collection<Long> ids);
+
+        // Keyset page of user subscriptions changed since a time, directly or through their user
+        @Query("SELECT us.id FROM UserSubscription us JOIN us.user u " +
+                        "WHERE (us.updatedAt > :since OR u.updatedAt > :since) AND us.id > :afterId ORDER BY us.id ASC")
+        List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        @Query("SELECT us.id FROM UserSubscription us WHERE us.user.id = :userId AND us.isActive = true")
+        List<Long> findActiveIdsByUserId(@Param("userId") Long userId);
+
+        // Keyset page of active auto-renewing subscriptions whose renewal date has passed
+        @Query("SELECT us.id FROM UserSubscription us WHERE us.isActive = true AND us.autoRenew = true " +
+                        "AND us.renewalDate < :today AND us.id > :afterId ORDER BY us.id ASC")
+        List<Long> findIdsDueForRollForward(@Param("today") LocalDate today, @Param("afterId") Long afterId,
+                        Pageable pageable);
+
         @Query("SELECT SUM(CASE WHEN us.customPrice IS NOT NULL THEN us.customPrice " +
                         "ELSE CASE WHEN us.subscriptionType = 'MONTHLY' THEN us.subscription.priceMonthly " +
                         "ELSE us.subscription.priceYearly / 12 END END) " +
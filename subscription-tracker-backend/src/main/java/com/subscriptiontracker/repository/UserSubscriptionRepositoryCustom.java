@@ -0,0 +1,40 @@
+package com.subscriptiontracker.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Set-based renewal write path, implemented in UserSubscriptionRepositoryImpl.
+ */
+public interface UserSubscriptionRepositoryCustom {
+
+    /**
+     * Roll past-due renewal dates forward for the active, auto-renewing user
+     * subscriptions with ids in (afterId, lastId].
+     *
+     * Each renewal date before today advances by whole MONTHLY or YEARLY
+     * periods to the first date on or after today. Every date lands on the
+     * subscription's anchor day, clamped to the length of shorter months, so
+     * a subscription started on Jan 31 renews Feb 28, Mar 31, Apr 30 and
+     * does not drift to the 28th. One renewal_events row is inserted per
+     * period passed, and rows already recorded are skipped, so running it
+     * again changes nothing.
+     *
+     * Three statements - a SELECT ... FOR UPDATE of the due rows, then one
+     * batched INSERT and one batched UPDATE; call inside a transaction so
+     * they commit together.
+     */
+    RollForward rollForward(long afterId, long lastId, LocalDate today);
+
+    /**
+     * Row counts from one roll-forward.
+     */
+    class RollForward {
+        public final int subscriptions;
+        public final int events;
+
+        public RollForward(int subscriptions, int events) {
+            this.subscriptions = subscriptions;
+            this.events = events;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.subscriptiontracker.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of the renewal roll-forward. Runs inside the caller's
+ * transaction (JdbcTemplate shares the JPA connection) and works on plain
+ * rows, so no user subscription entities are loaded.
+ */
+public class UserSubscriptionRepositoryImpl implements UserSubscriptionRepositoryCustom {
+
+    private static final String SELECT_DUE_SQL = "SELECT us.id, us.user_id, us.subscription_id, us.start_date, "
+            + "us.renewal_date, us.renewal_anchor_day, us.subscription_type, "
+            + "COALESCE(us.custom_price, CASE WHEN us.subscription_type = 'YEARLY' "
+            + "THEN s.price_yearly ELSE s.price_monthly END) AS amount "
+            + "FROM user_subscriptions us JOIN subscriptions s ON s.id = us.subscription_id "
+            + "WHERE us.id > ? AND us.id <= ? AND us.is_active = true AND us.auto_renew = true "
+            + "AND us.renewal_date < ? ORDER BY us.id FOR UPDATE OF us";
+
+    private static final String INSERT_EVENT_SQL = "INSERT INTO renewal_events (user_subscription_id, user_id, "
+            + "subscription_id, renewal_date, subscription_type, amount, created_at) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_subscription_id, renewal_date) DO NOTHING";
+
+    private static final int[] INSERT_EVENT_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.DATE, Types.VARCHAR, Types.DOUBLE, Types.TIMESTAMP
+    };
+
+    private static final String ROLL_FORWARD_SQL = "UPDATE user_subscriptions SET renewal_date = ?, "
+            + "renewal_anchor_day = ?, updated_at = ? WHERE id = ?";
+
+    private static final int[] ROLL_FORWARD_TYPES = { Types.DATE, Types.INTEGER, Types.TIMESTAMP, Types.BIGINT };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public RollForward rollForward(long afterId, long lastId, LocalDate today) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+
+        jdbcTemplate.query(SELECT_DUE_SQL, rs -> {
+            long id = rs.getLong("id");
+            Date startDate = rs.getDate("start_date");
+            LocalDate renewalDate = rs.getDate("renewal_date").toLocalDate();
+            String type = rs.getString("subscription_type");
+            int anchorDay = anchorDay(startDate != null ? startDate.toLocalDate() : null, renewalDate,
+                    rs.getObject("renewal_anchor_day", Integer.class));
+
+            // Anything other than YEARLY renews monthly, as in UserSubscriptionService
+            List<LocalDate> dates = rollForwardDates(renewalDate, anchorDay, "YEARLY".equals(type), today);
+            for (LocalDate passed : dates.subList(0, dates.size() - 1)) {
+                events.add(new Object[] {
+                        id, rs.getLong("user_id"), rs.getLong("subscription_id"), Date.valueOf(passed), type,
+                        rs.getObject("amount", Double.class), now
+                });
+            }
+            updates.add(new Object[] { Date.valueOf(dates.get(dates.size() - 1)), anchorDay, now, id });
+        }, afterId, lastId, Date.valueOf(today));
+
+        int inserted = 0;
+        if (!events.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events, INSERT_EVENT_TYPES)) {
+                inserted += Math.max(0, count);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(ROLL_FORWARD_SQL, updates, ROLL_FORWARD_TYPES);
+        }
+        return new RollForward(updates.size(), inserted);
+    }
+
+    /**
+     * Day of month a subscription renews on. Until one is stored it is taken
+     * from the start date when the renewal date is that day clamped to its
+     * month (a Jan 31 start renewing Feb 28 keeps the 31st), and from the
+     * renewal date otherwise.
+     */
+    static int anchorDay(LocalDate startDate, LocalDate renewalDate, Integer storedAnchorDay) {
+        if (storedAnchorDay != null) {
+            return storedAnchorDay;
+        }
+        if (startDate != null
+                && renewalDate.getDayOfMonth() == Math.min(startDate.getDayOfMonth(), renewalDate.lengthOfMonth())) {
+            return startDate.getDayOfMonth();
+        }
+        return renewalDate.getDayOfMonth();
+    }
+
+    /**
+     * Renewal dates from renewalDate on, one period apart and each on
+     * anchorDay clamped to its month, up to the first on or after today.
+     *
+     * @return the dates passed before today, followed by the new renewal date
+     */
+    static List<LocalDate> rollForwardDates(LocalDate renewalDate, int anchorDay, boolean yearly, LocalDate today) {
+        int monthsPerPeriod = yearly ? 12 : 1;
+        YearMonth firstMonth = YearMonth.from(renewalDate);
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate date = renewalDate;
+        for (int n = 1; date.isBefore(today); n++) {
+            dates.add(date);
+            YearMonth month = firstMonth.plusMonths((long) n * monthsPerPeriod);
+            date = month.atDay(Math.min(anchorDay, month.lengthOfMonth()));
+        }
+        dates.add(date);
+        return dates;
+    }
+}
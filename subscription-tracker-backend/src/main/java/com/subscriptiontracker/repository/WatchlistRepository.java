@@ -2,6 +2,8 @@ package com.subscriptiontracker.repository;
 
 import com.subscriptiontracker.entity.Watchlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +18,13 @@ public interface WatchlistRepository extends JpaRepository<Watchlist, Long> {
 
     // Find specific wishlist item for removal after purchase
     java.util.Optional<Watchlist> findByUserIdAndSubscriptionId(Long userId, Long subscriptionId);
+
+    // Users to alert when a subscription drops to newPrice: watchers with no
+    // target, or a target at or above the new price. Served by
+    // idx_watchlist_price_drop without loading any watchlist or user rows.
+    @Query("SELECT DISTINCT w.user.id FROM Watchlist w WHERE w.subscription.id = :subscriptionId " +
+            "AND w.notifyOnPriceDrop = true " +
+            "AND (w.targetPrice IS NULL OR w.targetPrice >= :newPrice)")
+    List<Long> findPriceDropWatcherIds(@Param("subscriptionId") Long subscriptionId,
+            @Param("newPrice") Double newPrice);
 }
\ No newline at end of file
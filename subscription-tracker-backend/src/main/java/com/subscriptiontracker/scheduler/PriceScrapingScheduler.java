@@ -1,9 +1,14 @@
 package com.subscriptiontracker.scheduler;
 
-import com.subscriptiontracker.entity.UserSubscription;
-import com.subscriptiontracker.repository.UserSubscriptionRepository;
+import com.subscriptiontracker.config.ScraperConfig;
+import com.subscriptiontracker.entity.ScrapeRun;
 import com.subscriptiontracker.service.AlertService;
+import com.subscriptiontracker.service.JobLeaseService;
 import com.subscriptiontracker.service.PriceScraperService;
+import com.subscriptiontracker.service.RenewalCheckService;
+import com.subscriptiontracker.service.ScrapeCadenceService;
+import com.subscriptiontracker.service.ScrapeLedgerService;
+import com.subscriptiontracker.service.SubscriptionRenewalService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,11 +16,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Centralized scheduler for all periodic tasks.
@@ -24,10 +31,18 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * 1. Prevent duplicate execution
  * 2. Centralize schedule management
  * 3. Enable easy monitoring and modification
+ *
+ * With several replicas every node's timer fires, but each job runs under a
+ * database lease (JobLeaseService) so only one node does the work. Scraping
+ * can be split into app.scheduling.scrape-shards shards that nodes claim
+ * independently.
  * 
  * Schedule (IST - Asia/Kolkata):
- * - 6:00 AM: Daily price scraping (once per day)
- * - 8:00 AM: Check upcoming renewals and send notifications
+ * - Every few minutes: scrape the subscriptions the adaptive cadence finds due
+ * - 6:00 AM: Daily price scraping (once per day), only when the adaptive
+ *   cadence is disabled
+ * - 8:00 AM: Check upcoming renewals and send notifications, only when the
+ *   reminder wheel is disabled
  */
 @Component
 public class PriceScrapingScheduler {
@@ -38,37 +53,112 @@ public class PriceScrapingScheduler {
     private PriceScraperService priceScraperService;
 
     @Autowired
-    private UserSubscriptionRepository userSubscriptionRepository;
+    private AlertService alertService;
 
     @Autowired
-    private AlertService alertService;
+    private ScrapeLedgerService scrapeLedgerService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private ScrapeCadenceService scrapeCadenceService;
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    @Autowired
+    private RenewalReminderWheel renewalReminderWheel;
+
+    @Autowired
+    private SubscriptionRenewalService subscriptionRenewalService;
+
+    @Autowired
+    private RenewalCheckService renewalCheckService;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
 
     @Value("${app.scheduling.timezone:Asia/Kolkata}")
     private String schedulingTimezone;
 
+    @Value("${app.scheduling.scrape-shards:1}")
+    private int scrapeShards;
+
+    static final String SCRAPING_LEASE = "price-scraping";
+    static final String RENEWAL_CHECK_LEASE = "renewal-check";
+    static final String ROLL_FORWARD_LEASE = "renewal-roll-forward";
+    private static final String ADAPTIVE_RUN = "ADAPTIVE";
+    private static final int SCRAPING_HOUR = 6;       // Matches the cron below
+    private static final int RENEWAL_CHECK_HOUR = 8;
+    private static final int ROLL_FORWARD_HOUR = 0;
+
     // Prevents concurrent execution of the same job
     private final AtomicBoolean scrapingInProgress = new AtomicBoolean(false);
     private final AtomicBoolean renewalCheckInProgress = new AtomicBoolean(false);
+    private final AtomicBoolean rollForwardInProgress = new AtomicBoolean(false);
 
-    // Track last execution for monitoring
-    private volatile LocalDateTime lastScrapingRun = null;
+    // Track last renewal check for monitoring; scrape runs are read from the scrape ledger
     private volatile LocalDateTime lastRenewalCheckRun = null;
-    private volatile boolean lastScrapingSuccess = true;
     private volatile boolean lastRenewalCheckSuccess = true;
 
     /**
      * Daily price scraping - runs every day at 6 AM IST
-     * This is the only scheduled scraping job (once per day).
+     * when scraper.cadence.enabled is false.
      */
     @Scheduled(cron = "0 0 6 * * ?", zone = "Asia/Kolkata")
     public void scheduleDailyPriceScraping() {
-        executePriceScraping("DAILY");
+        if (scraperConfig.isCadenceEnabled()) {
+            logger.debug("[SCHEDULER] Adaptive cadence enabled, skipping the daily scraping run");
+            return;
+        }
+        executePriceScraping("DAILY", lastDailySlot(SCRAPING_HOUR), false);
     }
 
     /**
-     * Core scraping execution with concurrency protection.
+     * Adaptive scraping - every scraper.cadence.tick-ms, scrape whichever
+     * subscriptions ScrapeCadenceService finds due. Shares the scraping lease
+     * with the daily and manual runs.
      */
-    private void executePriceScraping(String scheduleType) {
+    @Scheduled(fixedDelayString = "${scraper.cadence.tick-ms:300000}",
+            initialDelayString = "${scraper.cadence.tick-ms:300000}")
+    public void scheduleAdaptiveScraping() {
+        // Checked in memory before taking the lease so idle ticks do not touch the database
+        if (!scraperConfig.isCadenceEnabled() || !scrapeCadenceService.mayBeDue(LocalDateTime.now())) {
+            return;
+        }
+        if (!scrapingInProgress.compareAndSet(false, true)) {
+            logger.debug("[SCHEDULER] Price scraping already in progress, skipping adaptive tick");
+            return;
+        }
+
+        try {
+            jobLeaseService.runExclusive(SCRAPING_LEASE, ADAPTIVE_RUN, LocalDateTime.now(), this::scrapeDue);
+        } catch (Exception e) {
+            logger.error("[SCHEDULER] Adaptive price scraping FAILED: {}", e.getMessage(), e);
+        } finally {
+            scrapingInProgress.set(false);
+        }
+    }
+
+    // Selected under the lease, so subscriptions another node just scraped are left out
+    private void scrapeDue() {
+        List<ScrapeCadenceService.Cadence> due = scrapeCadenceService.selectDue();
+        if (!due.isEmpty()) {
+            logger.info("[SCHEDULER] Adaptive scraping: {}", due.stream().map(c -> c.subscriptionName).toList());
+            schedulerMetrics.time(SCRAPING_LEASE, () -> priceScraperService.scrapeSubscriptions(ADAPTIVE_RUN,
+                    due.stream().map(c -> c.subscriptionId).toList()).getProcessed());
+        }
+    }
+
+    /**
+     * Core scraping execution with concurrency protection: locally through
+     * scrapingInProgress, across nodes through the job lease.
+     *
+     * @param runSlot  schedule slot being run; skipped if already completed since
+     * @param takeOver only resume a lease abandoned by a dead node
+     */
+    private void executePriceScraping(String scheduleType, LocalDateTime runSlot, boolean takeOver) {
         // Prevent concurrent execution
         if (!scrapingInProgress.compareAndSet(false, true)) {
             logger.warn("[SCHEDULER] Price scraping already in progress, skipping {} run", scheduleType);
@@ -76,29 +166,52 @@ public class PriceScrapingScheduler {
         }
 
         LocalDateTime startTime = LocalDateTime.now(ZoneId.of(schedulingTimezone));
-        logger.info("[SCHEDULER] ========================================");
-        logger.info("[SCHEDULER] Starting {} price scraping at {}", scheduleType, startTime);
-        logger.info("[SCHEDULER] ========================================");
 
         try {
-            priceScraperService.scrapeAllPricesScheduled();
+            boolean ran;
+            if (scrapeShards > 1) {
+                int shardsRun = jobLeaseService.runShards(SCRAPING_LEASE, scrapeShards, runSlot, takeOver,
+                        shard -> schedulerMetrics.time(SCRAPING_LEASE, () -> priceScraperService
+                                .scrapeShardScheduled(scheduleType, shard, scrapeShards).getProcessed()));
+                ran = shardsRun > 0;
+                logger.info("[SCHEDULER] Ran {} of {} scraping shards on this node", shardsRun, scrapeShards);
+            } else {
+                Runnable job = () -> {
+                    logger.info("[SCHEDULER] ========================================");
+                    logger.info("[SCHEDULER] Starting {} price scraping at {}", scheduleType, startTime);
+                    logger.info("[SCHEDULER] ========================================");
+                    schedulerMetrics.time(SCRAPING_LEASE,
+                            () -> priceScraperService.scrapeAllPricesScheduled(scheduleType).getProcessed());
+                };
+                // A dead node's adaptive tick is resumed as one, not as a full scrape
+                Consumer<String> resume = runKind -> {
+                    if (ADAPTIVE_RUN.equals(runKind)) {
+                        scrapeDue();
+                    } else {
+                        job.run();
+                    }
+                };
+                ran = takeOver
+                        ? jobLeaseService.takeOverExpired(SCRAPING_LEASE, runSlot, resume)
+                        : jobLeaseService.runExclusive(SCRAPING_LEASE, scheduleType, runSlot, job);
+            }
 
-            lastScrapingSuccess = true;
-            LocalDateTime endTime = LocalDateTime.now(ZoneId.of(schedulingTimezone));
-            long durationSeconds = java.time.Duration.between(startTime, endTime).getSeconds();
+            if (ran) {
+                LocalDateTime endTime = LocalDateTime.now(ZoneId.of(schedulingTimezone));
+                long durationSeconds = java.time.Duration.between(startTime, endTime).getSeconds();
 
-            logger.info("[SCHEDULER] {} price scraping COMPLETED successfully in {} seconds",
-                    scheduleType, durationSeconds);
+                logger.info("[SCHEDULER] {} price scraping COMPLETED successfully in {} seconds",
+                        scheduleType, durationSeconds);
+            }
 
         } catch (Exception e) {
-            lastScrapingSuccess = false;
+            // Recorded as a FAILED run in the scrape ledger by PriceScraperService
             logger.error("[SCHEDULER] {} price scraping FAILED: {}", scheduleType, e.getMessage(), e);
 
             // Future: Send alert notification on failure
             // alertService.notifyAdminOfScrapingFailure(scheduleType, e);
 
         } finally {
-            lastScrapingRun = LocalDateTime.now(ZoneId.of(schedulingTimezone));
             scrapingInProgress.set(false);
         }
     }
@@ -106,61 +219,104 @@ public class PriceScrapingScheduler {
     /**
      * Check for upcoming renewals every day at 8 AM IST.
      * Sends renewal reminders to users based on their preferences.
+     *
+     * This is the fallback for app.scheduling.reminder-wheel.enabled=false
+     * only. While RenewalReminderWheel is enabled it never runs: the wheel's
+     * startup load already fires reminders whose time passed while no node
+     * was up, so it needs no separate backfill.
      */
     @Scheduled(cron = "0 0 8 * * ?", zone = "Asia/Kolkata")
     public void checkUpcomingRenewals() {
+        if (renewalReminderWheel.isEnabled()) {
+            logger.debug("[SCHEDULER] Reminder wheel enabled, skipping the daily renewal check");
+            return;
+        }
+        executeRenewalCheck(lastDailySlot(RENEWAL_CHECK_HOUR), false);
+    }
+
+    private void executeRenewalCheck(LocalDateTime runSlot, boolean takeOver) {
         // Prevent concurrent execution
         if (!renewalCheckInProgress.compareAndSet(false, true)) {
             logger.warn("[SCHEDULER] Renewal check already in progress, skipping");
             return;
         }
 
-        LocalDateTime startTime = LocalDateTime.now(ZoneId.of(schedulingTimezone));
-        logger.info("[SCHEDULER] Starting renewal check at {}", startTime);
-
         try {
-            LocalDate today = LocalDate.now(ZoneId.of(schedulingTimezone));
-            LocalDate nextWeek = today.plusDays(7);
-
-            // Find subscriptions renewing in the next 7 days
-            List<UserSubscription> upcomingRenewals = userSubscriptionRepository
-                    .findUpcomingRenewals(today, nextWeek);
-
-            int remindersCreated = 0;
-            for (UserSubscription subscription : upcomingRenewals) {
-                try {
-                    // Check if we should send reminder based on user preference
-                    int daysUntilRenewal = (int) java.time.temporal.ChronoUnit.DAYS
-                            .between(today, subscription.getRenewalDate());
-
-                    if (daysUntilRenewal <= subscription.getReminderDaysBefore()) {
-                        alertService.createRenewalReminder(subscription);
-                        remindersCreated++;
-                        logger.debug("[SCHEDULER] Created reminder for user {} - {} renewing on {}",
-                                subscription.getUser().getEmail(),
-                                subscription.getSubscription().getName(),
-                                subscription.getRenewalDate());
-                    }
-                } catch (Exception e) {
-                    logger.error("[SCHEDULER] Failed to create reminder for subscription {}: {}",
-                            subscription.getId(), e.getMessage());
-                }
+            Runnable job = () -> schedulerMetrics.time(RENEWAL_CHECK_LEASE,
+                    () -> renewalCheckService.createReminders(runSlot));
+            boolean ran = takeOver
+                    ? jobLeaseService.takeOverExpired(RENEWAL_CHECK_LEASE, runSlot, job)
+                    : jobLeaseService.runExclusive(RENEWAL_CHECK_LEASE, runSlot, job);
+            if (ran) {
+                lastRenewalCheckSuccess = true;
+                lastRenewalCheckRun = LocalDateTime.now(ZoneId.of(schedulingTimezone));
             }
 
-            lastRenewalCheckSuccess = true;
-            logger.info("[SCHEDULER] Renewal check COMPLETED. Found {} upcoming, created {} reminders",
-                    upcomingRenewals.size(), remindersCreated);
-
         } catch (Exception e) {
             lastRenewalCheckSuccess = false;
+            lastRenewalCheckRun = LocalDateTime.now(ZoneId.of(schedulingTimezone));
             logger.error("[SCHEDULER] Renewal check FAILED: {}", e.getMessage(), e);
 
         } finally {
-            lastRenewalCheckRun = LocalDateTime.now(ZoneId.of(schedulingTimezone));
             renewalCheckInProgress.set(false);
         }
     }
 
+    /**
+     * Roll auto-renewing subscriptions past their renewal date forward every
+     * day just after midnight IST, before the day's reminders go out.
+     */
+    @Scheduled(cron = "0 5 0 * * ?", zone = "Asia/Kolkata")
+    public void rollForwardRenewals() {
+        executeRollForward(lastDailySlot(ROLL_FORWARD_HOUR), false);
+    }
+
+    private void executeRollForward(LocalDateTime runSlot, boolean takeOver) {
+        if (!rollForwardInProgress.compareAndSet(false, true)) {
+            logger.warn("[SCHEDULER] Renewal roll-forward already in progress, skipping");
+            return;
+        }
+
+        try {
+            Runnable job = () -> schedulerMetrics.time(ROLL_FORWARD_LEASE, subscriptionRenewalService::rollForwardDue);
+            if (takeOver) {
+                jobLeaseService.takeOverExpired(ROLL_FORWARD_LEASE, runSlot, job);
+            } else {
+                jobLeaseService.runExclusive(ROLL_FORWARD_LEASE, runSlot, job);
+            }
+        } catch (Exception e) {
+            // Chunks already committed stay rolled; the next run finishes the rest
+            logger.error("[SCHEDULER] Renewal roll-forward FAILED: {}", e.getMessage(), e);
+        } finally {
+            rollForwardInProgress.set(false);
+        }
+    }
+
+    /**
+     * Resume jobs whose node died mid-run. Every node checks once per lease
+     * period; a lease is only taken over once it has expired unreleased.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduling.lease.ttl-ms:300000}",
+            initialDelayString = "${app.scheduling.lease.ttl-ms:300000}")
+    public void takeOverExpiredJobs() {
+        executePriceScraping("TAKEOVER", lastDailySlot(SCRAPING_HOUR), true);
+        executeRenewalCheck(lastDailySlot(RENEWAL_CHECK_HOUR), true);
+        executeRollForward(lastDailySlot(ROLL_FORWARD_HOUR), true);
+    }
+
+    /**
+     * Start of the most recent daily slot at the given hour in the scheduling
+     * timezone, as server-local time (the clock job leases are kept in).
+     */
+    private LocalDateTime lastDailySlot(int hour) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of(schedulingTimezone));
+        ZonedDateTime slot = now.truncatedTo(ChronoUnit.DAYS).withHour(hour);
+        if (slot.isAfter(now)) {
+            slot = slot.minusDays(1);
+        }
+        return slot.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
     /**
      * Manual trigger for price scraping (for testing/API calls).
      * Returns false if scraping is already in progress.
@@ -172,21 +328,32 @@ public class PriceScrapingScheduler {
         }
 
         logger.info("[SCHEDULER] Manual price scraping triggered");
-        executePriceScraping("MANUAL");
+        // A manual run is its own slot: it only waits for a run in progress elsewhere
+        executePriceScraping("MANUAL", LocalDateTime.now(), false);
         return true;
     }
 
+    /**
+     * Startup refresh of stale prices, run under the same guard and lease as
+     * any other scrape so that replicas starting together scrape once.
+     */
+    public void triggerWarmStartScraping() {
+        executePriceScraping("WARM_START", LocalDateTime.now(), false);
+    }
+
     /**
      * Get scheduler status for monitoring/health checks.
      */
     public SchedulerStatus getStatus() {
+        ScrapeRun lastRun = scrapeLedgerService.getLastRun();
         return new SchedulerStatus(
                 scrapingInProgress.get(),
                 renewalCheckInProgress.get(),
-                lastScrapingRun,
+                lastRun != null ? lastRun.getFinishedAt() : null,
                 lastRenewalCheckRun,
-                lastScrapingSuccess,
+                lastRun == null || lastRun.getStatus() == ScrapeRun.Status.COMPLETED,
                 lastRenewalCheckSuccess,
+                renewalReminderWheel.isEnabled(),
                 schedulingTimezone);
     }
 
@@ -200,18 +367,21 @@ public class PriceScrapingScheduler {
         public final LocalDateTime lastRenewalCheckRun;
         public final boolean lastScrapingSuccess;
         public final boolean lastRenewalCheckSuccess;
+        // The daily renewal check is idle, and its result meaningless, while this is set
+        public final boolean reminderWheelEnabled;
         public final String timezone;
 
         public SchedulerStatus(boolean scrapingInProgress, boolean renewalCheckInProgress,
                 LocalDateTime lastScrapingRun, LocalDateTime lastRenewalCheckRun,
                 boolean lastScrapingSuccess, boolean lastRenewalCheckSuccess,
-                String timezone) {
+                boolean reminderWheelEnabled, String timezone) {
             this.scrapingInProgress = scrapingInProgress;
             this.renewalCheckInProgress = renewalCheckInProgress;
             this.lastScrapingRun = lastScrapingRun;
             this.lastRenewalCheckRun = lastRenewalCheckRun;
             this.lastScrapingSuccess = lastScrapingSuccess;
             this.lastRenewalCheckSuccess = lastRenewalCheckSuccess;
+            this.reminderWheelEnabled = reminderWheelEnabled;
             this.timezone = timezone;
         }
     }
@@ -0,0 +1,338 @@
+package com.subscriptiontracker.scheduler;
+
+import com.subscriptiontracker.entity.UserSubscription;
+import com.subscriptiontracker.repository.RenewalCandidate;
+import com.subscriptiontracker.repository.UserSubscriptionRepository;
+import com.subscriptiontracker.service.AlertService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires renewal reminders when they fall due instead of in a daily scan.
+ *
+ * Every active subscription with a renewal ahead sits in a TimingWheel at
+ * its reminder time: reminderDaysBefore days before the renewal, at
+ * app.scheduling.reminder-wheel.reminder-hour in the user's own timezone.
+ * The wheel is loaded from user_subscriptions in keyset chunks at startup,
+ * updated by UserSubscriptionService as rows change on this node, and kept
+ * in step with other nodes by re-reading only the rows updated since the
+ * last sync.
+ *
+ * A reminder whose time has already passed, while its renewal has not, is
+ * fired on the next tick. Fired entries are re-read before alerting, and
+ * alerts go through the reminder ledger, so a stale entry or several nodes
+ * firing the same reminder still produce one alert.
+ */
+@Component
+public class RenewalReminderWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenewalReminderWheel.class);
+
+    private static final int WHEEL_SIZE = 64;
+
+    // Catches rows updated on another node whose clock runs a little behind ours
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
+    @Value("${app.scheduling.reminder-wheel.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.scheduling.reminder-wheel.tick-ms:60000}")
+    private long tickMs;
+
+    @Value("${app.scheduling.reminder-wheel.sync-ms:300000}")
+    private long syncMs;
+
+    @Value("${app.scheduling.reminder-wheel.reminder-hour:8}")
+    private int reminderHour;
+
+    @Value("${app.scheduling.timezone:Asia/Kolkata}")
+    private String defaultTimezone;
+
+    @Value("${app.scheduling.renewal-chunk-size:500}")
+    private int chunkSize;
+
+    private TimingWheel<Long> wheel;
+    private ScheduledExecutorService executor;
+    private volatile boolean loaded;
+    private LocalDateTime lastSyncAt;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Load the wheel in the background once the application is up, then
+     * start ticking and syncing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("[REMINDERS] Reminder wheel disabled, renewal reminders come from the daily check");
+            return;
+        }
+        wheel = new TimingWheel<>(Math.max(1000, tickMs), WHEEL_SIZE, System.currentTimeMillis());
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "renewal-reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::load);
+        executor.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::sync, syncMs, syncMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int size() {
+        if (wheel == null) {
+            return 0;
+        }
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Re-schedule a user subscription after it was added, updated or
+     * deactivated on this node.
+     */
+    public void schedule(UserSubscription userSubscription) {
+        if (!loaded) {
+            return; // Picked up by the initial load or the next sync
+        }
+        if (!Boolean.TRUE.equals(userSubscription.getIsActive())) {
+            cancel(userSubscription.getId());
+            return;
+        }
+        schedule(userSubscription.getId(), userSubscription.getRenewalDate(),
+                userSubscription.getReminderDaysBefore(), userSubscription.getUser().getTimezone());
+    }
+
+    public void cancel(Long userSubscriptionId) {
+        if (!loaded) {
+            return;
+        }
+        synchronized (wheel) {
+            wheel.cancel(userSubscriptionId);
+        }
+    }
+
+    /**
+     * Re-schedule every active subscription of a user, e.g. after they change
+     * their timezone.
+     */
+    public void rescheduleUser(Long userId) {
+        if (!loaded) {
+            return;
+        }
+        List<Long> ids = userSubscriptionRepository.findActiveIdsByUserId(userId);
+        reload(ids);
+    }
+
+    private void load() {
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDate fromDate = LocalDate.now(ZoneId.of(defaultTimezone)).minusDays(1);
+            PageRequest chunk = PageRequest.of(0, Math.max(1, chunkSize));
+
+            int loadedCount = 0;
+            long afterId = 0;
+            List<RenewalCandidate> renewals;
+            do {
+                renewals = userSubscriptionRepository.findRenewalCandidatesFrom(fromDate, afterId, chunk);
+                if (renewals.isEmpty()) {
+                    break;
+                }
+                afterId = renewals.get(renewals.size() - 1).userSubscriptionId;
+                renewals.forEach(this::scheduleCandidate);
+                loadedCount += renewals.size();
+            } while (renewals.size() == chunk.getPageSize());
+
+            lastSyncAt = startedAt;
+            loaded = true;
+            logger.info("[REMINDERS] Loaded {} upcoming renewals into the reminder wheel", loadedCount);
+        } catch (Exception e) {
+            logger.error("[REMINDERS] Failed to load the reminder wheel, retrying at the next sync: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    private void tick() {
+        if (!loaded) {
+            return;
+        }
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            schedulerMetrics.time("reminder-wheel", () -> fireDue(due));
+        } catch (Exception e) {
+            // Put them back for the next tick; reminders already sent are skipped by the ledger
+            long retryAt = System.currentTimeMillis() + tickMs;
+            synchronized (wheel) {
+                due.forEach(id -> wheel.schedule(id, retryAt));
+            }
+            logger.error("[REMINDERS] Reminder wheel tick failed, retrying {} reminders: {}",
+                    due.size(), e.getMessage(), e);
+        }
+    }
+
+    // Re-read before alerting: the row may have changed on another node
+    private int fireDue(List<Long> due) {
+        int step = Math.max(1, chunkSize);
+        int created = 0;
+        int fired = 0;
+        for (int from = 0; from < due.size(); from += step) {
+            List<Long> ids = due.subList(from, Math.min(due.size(), from + step));
+            List<RenewalCandidate> fire = new ArrayList<>(ids.size());
+            for (RenewalCandidate renewal : userSubscriptionRepository.findRenewalCandidatesByIds(ids)) {
+                if (isDue(renewal)) {
+                    fire.add(renewal);
+                } else {
+                    scheduleCandidate(renewal);
+                }
+            }
+            if (!fire.isEmpty()) {
+                created += alertService.createRenewalReminders(fire);
+                fired += fire.size();
+            }
+        }
+        if (fired > 0) {
+            logger.info("[REMINDERS] {} reminders due, created {} (the rest were already sent)", fired, created);
+        }
+        return created;
+    }
+
+    private void sync() {
+        if (!loaded) {
+            load();
+            return;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            PageRequest chunk = PageRequest.of(0, Math.max(1, chunkSize));
+            LocalDateTime since = lastSyncAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+
+            int synced = 0;
+            long afterId = 0;
+            List<Long> ids;
+            do {
+                ids = userSubscriptionRepository.findIdsUpdatedSince(since, afterId, chunk);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                reload(ids);
+                synced += ids.size();
+            } while (ids.size() == chunk.getPageSize());
+
+            lastSyncAt = startedAt;
+            if (synced > 0) {
+                logger.debug("[REMINDERS] Synced {} changed subscriptions into the reminder wheel", synced);
+            }
+        } catch (Exception e) {
+            logger.error("[REMINDERS] Reminder wheel sync failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Drop the given subscriptions from the wheel and put back those still active
+    private void reload(Collection<Long> ids) {
+        synchronized (wheel) {
+            ids.forEach(wheel::cancel);
+        }
+        userSubscriptionRepository.findRenewalCandidatesByIds(ids).forEach(this::scheduleCandidate);
+    }
+
+    private void scheduleCandidate(RenewalCandidate renewal) {
+        schedule(renewal.userSubscriptionId, renewal.renewalDate, renewal.reminderDaysBefore,
+                renewal.userTimezone);
+    }
+
+    // Put a reminder in the wheel at its time, or at the next tick if that has
+    // passed but the renewal has not; drop it once the renewal is past
+    private void schedule(Long userSubscriptionId, LocalDate renewalDate, Integer reminderDaysBefore,
+            String timezone) {
+        long now = System.currentTimeMillis();
+        synchronized (wheel) {
+            if (renewalDate == null || reminderDaysBefore == null) {
+                wheel.cancel(userSubscriptionId);
+                return;
+            }
+            ZoneId zone = zoneOf(timezone);
+            long fireAt = fireAt(renewalDate, reminderDaysBefore, zone);
+            if (fireAt > now) {
+                wheel.schedule(userSubscriptionId, fireAt);
+            } else if (!renewalDate.isBefore(LocalDate.now(zone))) {
+                wheel.schedule(userSubscriptionId, now + tickMs);
+            } else {
+                wheel.cancel(userSubscriptionId);
+            }
+        }
+    }
+
+    // Reminder time has come and the renewal date has not yet passed, in the user's timezone
+    private boolean isDue(RenewalCandidate renewal) {
+        if (renewal.renewalDate == null || renewal.reminderDaysBefore == null) {
+            return false;
+        }
+        ZoneId zone = zoneOf(renewal.userTimezone);
+        return fireAt(renewal.renewalDate, renewal.reminderDaysBefore, zone) <= System.currentTimeMillis()
+                && !renewal.renewalDate.isBefore(LocalDate.now(zone));
+    }
+
+    private long fireAt(LocalDate renewalDate, int reminderDaysBefore, ZoneId zone) {
+        return renewalDate.minusDays(reminderDaysBefore)
+                .atTime(reminderHour, 0)
+                .atZone(zone)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    private ZoneId zoneOf(String timezone) {
+        if (timezone != null && !timezone.isBlank()) {
+            try {
+                return ZoneId.of(timezone);
+            } catch (DateTimeException e) {
+                logger.debug("[REMINDERS] Unknown timezone {}, using {}", timezone, defaultTimezone);
+            }
+        }
+        return ZoneId.of(defaultTimezone);
+    }
+}
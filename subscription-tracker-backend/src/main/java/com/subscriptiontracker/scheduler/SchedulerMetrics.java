@@ -0,0 +1,205 @@
+package com.subscriptiontracker.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * In-process metrics registry for scheduled jobs, read by
+ * /api/health/scheduler.
+ *
+ * Each job run on this node is timed into a fixed-bucket duration
+ * histogram, its processed item count is added to a counter, and a failure
+ * is counted under the exception's class. Jobs in flight are reported with
+ * their start time, so a stuck run shows up before it finishes. Counters
+ * are per node and reset on restart.
+ */
+@Component
+public class SchedulerMetrics {
+
+    // Upper bounds of the duration buckets in milliseconds; one more bucket catches the rest
+    static final long[] BUCKET_BOUNDS_MS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000,
+            300_000, 900_000, 1_800_000, 3_600_000
+    };
+
+    private final Map<String, JobMetrics> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Run and record one job.
+     *
+     * @param work the job; returns how many items it processed
+     * @return the items processed
+     */
+    public int time(String job, IntSupplier work) {
+        JobMetrics metrics = jobs.computeIfAbsent(job, JobMetrics::new);
+        long start = System.nanoTime();
+        metrics.started();
+        try {
+            int items = work.getAsInt();
+            metrics.finished(elapsedMs(start), items, null);
+            return items;
+        } catch (RuntimeException | Error e) {
+            metrics.finished(elapsedMs(start), 0, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Current figures for every job that has run on this node, by name.
+     */
+    public List<JobSnapshot> snapshot() {
+        List<JobSnapshot> snapshots = new ArrayList<>();
+        new TreeMap<>(jobs).values().forEach(metrics -> snapshots.add(metrics.snapshot()));
+        return snapshots;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given rank, in the style of a
+     * Prometheus histogram quantile; null if nothing was recorded, or
+     * Long.MAX_VALUE if it falls in the overflow bucket.
+     */
+    static Long quantile(long[] bucketCounts, long total, double q) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static final class JobMetrics {
+        final String name;
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+        final LongAdder runs = new LongAdder();
+        final LongAdder totalMs = new LongAdder();
+        final AtomicLong maxMs = new AtomicLong();
+        final LongAdder items = new LongAdder();
+        final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile LocalDateTime inFlightSince;
+        volatile LocalDateTime lastFinishedAt;
+        volatile long lastDurationMs;
+        volatile int lastItems;
+        volatile String lastFailure;
+
+        JobMetrics(String name) {
+            this.name = name;
+        }
+
+        void started() {
+            if (inFlight.getAndIncrement() == 0) {
+                inFlightSince = LocalDateTime.now();
+            }
+        }
+
+        void finished(long durationMs, int processed, Throwable failure) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && durationMs > BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            runs.increment();
+            totalMs.add(durationMs);
+            maxMs.accumulateAndGet(durationMs, Math::max);
+            items.add(processed);
+            if (failure != null) {
+                failures.computeIfAbsent(failure.getClass().getSimpleName(), key -> new LongAdder()).increment();
+            }
+
+            lastDurationMs = durationMs;
+            lastItems = processed;
+            lastFailure = failure != null ? failure.getClass().getSimpleName() : null;
+            lastFinishedAt = LocalDateTime.now();
+            if (inFlight.decrementAndGet() == 0) {
+                inFlightSince = null;
+            }
+        }
+
+        JobSnapshot snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            Map<String, Long> failuresByClass = new TreeMap<>();
+            failures.forEach((type, count) -> failuresByClass.put(type, count.sum()));
+            return new JobSnapshot(this, counts, failuresByClass);
+        }
+    }
+
+    /**
+     * One job's figures at a point in time.
+     */
+    public static class JobSnapshot {
+        public final String job;
+        public final int inFlight;
+        public final LocalDateTime inFlightSince;   // Null when idle
+        public final long runs;
+        public final long failures;
+        public final Map<String, Long> failuresByClass;
+        public final long itemsProcessed;
+        public final LocalDateTime lastFinishedAt;  // Null if it has not run yet
+        public final long lastDurationMs;
+        public final int lastItems;
+        public final String lastFailure;            // Exception class of the last run, null if it succeeded
+        public final Double meanMs;
+        public final long maxMs;
+        public final Long p50Ms;
+        public final Long p95Ms;
+        public final Long p99Ms;
+        public final Map<String, Long> durationBuckets; // Cumulative run counts by "le" bound in ms
+
+        private JobSnapshot(JobMetrics metrics, long[] counts, Map<String, Long> failuresByClass) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.job = metrics.name;
+            this.inFlight = metrics.inFlight.get();
+            this.inFlightSince = metrics.inFlightSince;
+            this.runs = metrics.runs.sum();
+            this.failuresByClass = Collections.unmodifiableMap(failuresByClass);
+            this.failures = failuresByClass.values().stream().mapToLong(Long::longValue).sum();
+            this.itemsProcessed = metrics.items.sum();
+            this.lastFinishedAt = metrics.lastFinishedAt;
+            this.lastDurationMs = metrics.lastDurationMs;
+            this.lastItems = metrics.lastItems;
+            this.lastFailure = metrics.lastFailure;
+            this.meanMs = runs > 0 ? Math.round(metrics.totalMs.sum() * 10.0 / runs) / 10.0 : null;
+            this.maxMs = metrics.maxMs.get();
+            this.p50Ms = quantile(counts, total, 0.50);
+            this.p95Ms = quantile(counts, total, 0.95);
+            this.p99Ms = quantile(counts, total, 0.99);
+
+            Map<String, Long> cumulative = new LinkedHashMap<>();
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                cumulative.put(i < BUCKET_BOUNDS_MS.length ? String.valueOf(BUCKET_BOUNDS_MS[i]) : "+Inf", seen);
+            }
+            this.durationBuckets = Collections.unmodifiableMap(cumulative);
+        }
+    }
+}
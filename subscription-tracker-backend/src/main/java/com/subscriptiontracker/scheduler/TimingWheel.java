@@ -0,0 +1,152 @@
+package com.subscriptiontracker.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel of keys due at given epoch-millisecond times.
+ *
+ * The lowest level has wheelSize slots of tickMs each; every level above is
+ * wheelSize times coarser, and levels are added as far-off deadlines need
+ * them. Scheduling and cancelling are O(1); advancing costs one step per
+ * elapsed tick plus the entries that cascade down. Deadlines are rounded up
+ * to a whole tick, so a key is never returned early.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Level root;
+
+    // Bucket holding each scheduled key, for O(1) cancel
+    private final Map<K, Set<K>> buckets = new HashMap<>();
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    /**
+     * Schedule a key, replacing any deadline it already had.
+     *
+     * @return true if the key is now in the wheel, false if its deadline has
+     *         already passed and it should be handled right away
+     */
+    public boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+        long rounded = -Math.floorDiv(-deadlineMs, tickMs) * tickMs;
+        if (!root.add(key, rounded)) {
+            return false;
+        }
+        deadlines.put(key, rounded);
+        return true;
+    }
+
+    public boolean cancel(K key) {
+        Set<K> bucket = buckets.remove(key);
+        deadlines.remove(key);
+        return bucket != null && bucket.remove(key);
+    }
+
+    public boolean contains(K key) {
+        return buckets.containsKey(key);
+    }
+
+    public Long getDeadline(K key) {
+        return deadlines.get(key);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Move the wheel's clock forward to nowMs.
+     *
+     * @return keys whose deadline is at or before nowMs, in deadline order
+     */
+    public List<K> advance(long nowMs) {
+        List<K> due = new ArrayList<>();
+        while (root.currentTime + tickMs <= nowMs) {
+            long time = root.currentTime + tickMs;
+
+            // Collect the levels whose slot turns over at this time, coarsest
+            // first, so their entries cascade into the finer slots below
+            List<Level> turning = new ArrayList<>();
+            for (Level level = root; level != null; level = level.overflow) {
+                if (time % level.tickMs != 0) {
+                    break;
+                }
+                level.currentTime = time;
+                turning.add(0, level);
+            }
+            for (Level level : turning) {
+                Set<K> bucket = level.slots.get(level.slotOf(time));
+                if (bucket.isEmpty()) {
+                    continue;
+                }
+                List<K> keys = new ArrayList<>(bucket);
+                bucket.clear();
+                for (K key : keys) {
+                    buckets.remove(key);
+                    long deadline = deadlines.get(key);
+                    if (!root.add(key, deadline)) {
+                        deadlines.remove(key);
+                        due.add(key);
+                    }
+                }
+            }
+        }
+        return due;
+    }
+
+    private final class Level {
+        final long tickMs;
+        final long interval;
+        final List<Set<K>> slots;
+        long currentTime; // Start of the current slot
+        Level overflow;
+
+        Level(long tickMs, long startMs) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+            this.slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new LinkedHashSet<>());
+            }
+        }
+
+        // False if the deadline falls in the current slot, i.e. it is due
+        boolean add(K key, long deadline) {
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (deadline < currentTime + interval) {
+                Set<K> bucket = slots.get(slotOf(deadline));
+                bucket.add(key);
+                buckets.put(key, bucket);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(key, deadline);
+        }
+
+        int slotOf(long time) {
+            return (int) Math.floorMod(Math.floorDiv(time, tickMs), (long) wheelSize);
+        }
+    }
+}
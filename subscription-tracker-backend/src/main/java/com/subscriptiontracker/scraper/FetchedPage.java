@@ -0,0 +1,79 @@
+package com.subscriptiontracker.scraper;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * Result of one page fetch: either a freshly parsed document, a page that is
+ * known to be unchanged (HTTP 304 or identical content hash), or a failure.
+ */
+public class FetchedPage {
+
+    public enum Status {
+        FETCHED, NOT_MODIFIED, UNCHANGED, FAILED
+    }
+
+    public final Status status;
+    public final Document document;
+    public final String etag;
+    public final String lastModified;
+    public final String contentHash;
+    public final String error;
+    public final ScrapeErrorClass errorClass;
+
+    // Transfer counts and timings over every attempt
+    public final int requests;
+    public final long bytesReceived;
+    public final int connectionsReused;
+    public final long fetchNanos; // Wall time fetching, retry waits included, parsing excluded
+    public final long parseNanos; // Building the Jsoup document
+
+    private FetchedPage(Status status, Document document, String etag, String lastModified,
+            String contentHash, String error, ScrapeErrorClass errorClass) {
+        this(status, document, etag, lastModified, contentHash, error, errorClass, 0, 0, 0, 0, 0);
+    }
+
+    private FetchedPage(Status status, Document document, String etag, String lastModified,
+            String contentHash, String error, ScrapeErrorClass errorClass, int requests, long bytesReceived,
+            int connectionsReused, long fetchNanos, long parseNanos) {
+        this.status = status;
+        this.document = document;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.error = error;
+        this.errorClass = errorClass;
+        this.requests = requests;
+        this.bytesReceived = bytesReceived;
+        this.connectionsReused = connectionsReused;
+        this.fetchNanos = fetchNanos;
+        this.parseNanos = parseNanos;
+    }
+
+    public static FetchedPage fetched(Document document, String etag, String lastModified, String contentHash) {
+        return new FetchedPage(Status.FETCHED, document, etag, lastModified, contentHash, null, null);
+    }
+
+    public static FetchedPage notModified(String etag, String lastModified, String contentHash) {
+        return new FetchedPage(Status.NOT_MODIFIED, null, etag, lastModified, contentHash, null, null);
+    }
+
+    public static FetchedPage unchanged(String etag, String lastModified, String contentHash) {
+        return new FetchedPage(Status.UNCHANGED, null, etag, lastModified, contentHash, null, null);
+    }
+
+    public static FetchedPage failed(ScrapeErrorClass errorClass, String error) {
+        return new FetchedPage(Status.FAILED, null, null, null, null, error, errorClass);
+    }
+
+    // Same page with the given transfer counts and timings
+    public FetchedPage withStats(int requests, long bytesReceived, int connectionsReused, long fetchNanos,
+            long parseNanos) {
+        return new FetchedPage(status, document, etag, lastModified, contentHash, error, errorClass,
+                requests, bytesReceived, connectionsReused, fetchNanos, parseNanos);
+    }
+
+    // True when the page can be skipped without parsing
+    public boolean isUnchanged() {
+        return status == Status.NOT_MODIFIED || status == Status.UNCHANGED;
+    }
+}
@@ -0,0 +1,130 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-host circuit breaker for vendor fetches.
+ *
+ * After scraper.circuit.failure-threshold consecutive failed fetches a host
+ * is opened: fetches to it fail immediately (and the subscription gets its
+ * fallback plans) until scraper.circuit.open-ms has passed. The next fetch is
+ * then let through as a single trial - success closes the circuit, failure
+ * opens it for another period.
+ *
+ * State is kept in memory, so a restart closes every circuit.
+ */
+@Component
+public class HostCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // Guarded by its own monitor
+    private static final class Circuit {
+        State state = State.CLOSED;
+        int consecutiveFailures;
+        long openedAtMillis;
+    }
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * Decide whether a fetch to this host may go ahead. An open circuit whose
+     * wait has elapsed moves to HALF_OPEN and admits exactly one caller.
+     */
+    public boolean allowRequest(String host) {
+        Circuit circuit = circuits.computeIfAbsent(host, h -> new Circuit());
+        synchronized (circuit) {
+            switch (circuit.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.currentTimeMillis() - circuit.openedAtMillis >= scraperConfig.getCircuitOpenMs()) {
+                        circuit.state = State.HALF_OPEN;
+                        logger.info("Circuit for {} half-open, allowing a trial fetch", host);
+                        return true;
+                    }
+                    return false;
+                default:
+                    // A trial fetch is already in flight
+                    return false;
+            }
+        }
+    }
+
+    public void recordSuccess(String host) {
+        Circuit circuit = circuits.computeIfAbsent(host, h -> new Circuit());
+        synchronized (circuit) {
+            if (circuit.state != State.CLOSED) {
+                logger.info("Circuit for {} closed after a successful fetch", host);
+            }
+            circuit.state = State.CLOSED;
+            circuit.consecutiveFailures = 0;
+        }
+    }
+
+    public void recordFailure(String host) {
+        Circuit circuit = circuits.computeIfAbsent(host, h -> new Circuit());
+        synchronized (circuit) {
+            circuit.consecutiveFailures++;
+            if (circuit.state == State.HALF_OPEN
+                    || circuit.consecutiveFailures >= Math.max(1, scraperConfig.getCircuitFailureThreshold())) {
+                if (circuit.state != State.OPEN) {
+                    logger.warn("Circuit for {} opened after {} consecutive failed fetches; skipping it for {}ms",
+                            host, circuit.consecutiveFailures, scraperConfig.getCircuitOpenMs());
+                }
+                circuit.state = State.OPEN;
+                circuit.openedAtMillis = System.currentTimeMillis();
+            }
+        }
+    }
+
+    /**
+     * Give up a half-open trial that ended without an outcome (cancelled at
+     * the run deadline, possibly before it was sent). The circuit goes back to
+     * OPEN with its original open time, so the next fetch becomes the trial.
+     */
+    public void releaseTrial(String host) {
+        Circuit circuit = circuits.get(host);
+        if (circuit == null) {
+            return;
+        }
+        synchronized (circuit) {
+            if (circuit.state == State.HALF_OPEN) {
+                logger.info("Trial fetch for {} was abandoned, circuit back to open", host);
+                circuit.state = State.OPEN;
+            }
+        }
+    }
+
+    /**
+     * True while this host's single trial fetch is in flight; it gets one
+     * attempt with no retries.
+     */
+    public boolean isTrial(String host) {
+        return getState(host) == State.HALF_OPEN;
+    }
+
+    public State getState(String host) {
+        Circuit circuit = circuits.get(host);
+        if (circuit == null) {
+            return State.CLOSED;
+        }
+        synchronized (circuit) {
+            return circuit.state;
+        }
+    }
+}
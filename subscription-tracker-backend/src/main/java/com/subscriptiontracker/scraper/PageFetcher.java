@@ -0,0 +1,385 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import com.subscriptiontracker.entity.PageFingerprint;
+import org.apache.hc.client5.http.ClientProtocolException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+
+import javax.net.ssl.SSLException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches vendor pricing pages with retry and conditional requests.
+ *
+ * When a fingerprint from a previous run is available, the request carries
+ * If-None-Match / If-Modified-Since, and a 200 response whose normalized text
+ * hashes to the stored value is reported as unchanged as well, so callers can
+ * skip parsing and writing entirely.
+ *
+ * Requests go through the shared, pooled {@link ScraperHttpClient} and the
+ * decoded bytes are handed to Jsoup. Attempts run on the {@link ScrapeEngine}
+ * worker pool. Retries are put back
+ * on that pool after a timer delay rather than sleeping a thread: only 408,
+ * 429 and 5xx responses and network errors are retried, Retry-After is
+ * honored, and other 4xx responses fail at once. Hosts that keep failing are
+ * cut off by {@link HostCircuitBreaker} without being fetched at all.
+ */
+@Component
+public class PageFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageFetcher.class);
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    @Autowired
+    private ScrapeEngine scrapeEngine;
+
+    @Autowired
+    private HostCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private ScraperHttpClient httpClient;
+
+    /**
+     * Fetch a page, blocking until it is fetched or has failed.
+     *
+     * @see #fetchAsync(String, String, PageFingerprint)
+     */
+    public FetchedPage fetch(String url, String subscriptionName, PageFingerprint previous) {
+        return fetchAsync(url, subscriptionName, previous).join();
+    }
+
+    /**
+     * Fetch a page with exponential backoff retry logic.
+     *
+     * @param url              The URL to fetch
+     * @param subscriptionName Name for logging
+     * @param previous         Fingerprint from the last applied run, or null
+     * @return fetched, unchanged or failed page - never completes exceptionally.
+     *         Cancelling it aborts the request in flight and stops any retry
+     *         not yet started.
+     */
+    public CompletableFuture<FetchedPage> fetchAsync(String url, String subscriptionName, PageFingerprint previous) {
+        String host = ScrapeEngine.hostOf(url);
+        if (!circuitBreaker.allowRequest(host)) {
+            logger.warn("Circuit for {} is open, not fetching {}", host, subscriptionName);
+            return CompletableFuture.completedFuture(FetchedPage.failed(ScrapeErrorClass.CIRCUIT_OPEN, "Circuit open for " + host));
+        }
+
+        // Force a full fetch and parse once the stored fingerprint gets old,
+        // so extractor fixes are picked up even for static pages
+        if (previous != null && isExpired(previous)) {
+            logger.debug("Fingerprint for {} is older than {}h, ignoring it",
+                    subscriptionName, scraperConfig.getFingerprintMaxAgeHours());
+            previous = null;
+        }
+
+        // A half-open trial gets a single attempt
+        boolean trial = circuitBreaker.isTrial(host);
+        int maxAttempts = trial ? 1 : Math.max(1, scraperConfig.getMaxRetryAttempts());
+        FetchRequest request = new FetchRequest(url, subscriptionName, previous, host, maxAttempts);
+        if (trial) {
+            // A trial cancelled before finish() would leave the circuit half-open for good
+            request.result.whenComplete((page, error) -> {
+                if (error != null) {
+                    circuitBreaker.releaseTrial(host);
+                }
+            });
+        }
+        schedule(request, 1, 0);
+        return request.result;
+    }
+
+    /** One page fetch across its attempts. */
+    private static final class FetchRequest {
+        final String url;
+        final String subscriptionName;
+        final PageFingerprint previous;
+        final String host;
+        final int maxAttempts;
+        final CompletableFuture<FetchedPage> result = new CompletableFuture<>();
+
+        final long startNanos = System.nanoTime();
+
+        // Summed over attempts; attempts never overlap
+        long parseNanos;
+        int requests;
+        long bytesReceived;
+        int connectionsReused;
+
+        FetchRequest(String url, String subscriptionName, PageFingerprint previous, String host, int maxAttempts) {
+            this.url = url;
+            this.subscriptionName = subscriptionName;
+            this.previous = previous;
+            this.host = host;
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    /** A failed attempt that is worth repeating. */
+    private static final class RetryableFetchException extends IOException {
+        final ScrapeErrorClass errorClass;
+        final long retryAfterMs; // From Retry-After, or -1
+
+        RetryableFetchException(ScrapeErrorClass errorClass, String message, long retryAfterMs) {
+            super(message);
+            this.errorClass = errorClass;
+            this.retryAfterMs = retryAfterMs;
+        }
+    }
+
+    private void schedule(FetchRequest request, int attempt, long delayMs) {
+        Executor workers = scrapeEngine.executor();
+        try {
+            (delayMs > 0 ? CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, workers) : workers)
+                    .execute(() -> runAttempt(request, attempt));
+        } catch (RejectedExecutionException e) {
+            finish(request, FetchedPage.failed(ScrapeErrorClass.INTERNAL, "Scraper shutting down"));
+        }
+    }
+
+    private void runAttempt(FetchRequest request, int attempt) {
+        // Cancelled at the run deadline
+        if (request.result.isDone()) {
+            return;
+        }
+
+        String subscriptionName = request.subscriptionName;
+        String error;
+        ScrapeErrorClass errorClass;
+        long retryAfterMs;
+
+        try {
+            logger.debug("Fetch attempt {}/{} for {}", attempt, request.maxAttempts, subscriptionName);
+            finish(request, attempt(request));
+            return;
+
+        } catch (RetryableFetchException e) {
+            error = e.getMessage();
+            errorClass = e.errorClass;
+            retryAfterMs = e.retryAfterMs;
+            logger.warn("Attempt {}/{} for {} failed: {}", attempt, request.maxAttempts, subscriptionName, error);
+
+        } catch (SocketTimeoutException e) {
+            error = e.getMessage();
+            errorClass = ScrapeErrorClass.TIMEOUT;
+            retryAfterMs = -1;
+            logger.warn("Timeout on attempt {}/{} for {}: {}",
+                    attempt, request.maxAttempts, subscriptionName, error);
+
+        } catch (IOException e) {
+            if (request.result.isCancelled()) {
+                logger.debug("Fetch for {} aborted after it was cancelled", subscriptionName);
+                return;
+            }
+            error = e.getMessage();
+            errorClass = e instanceof ScraperHttpClient.ResponseTooLargeException
+                    ? ScrapeErrorClass.TOO_LARGE
+                    : ScrapeErrorClass.NETWORK;
+            if (!isRetryable(e)) {
+                logger.error("Fetch for {} failed and will not be retried: {}", subscriptionName, error);
+                finish(request, FetchedPage.failed(errorClass, error));
+                return;
+            }
+            retryAfterMs = -1;
+            logger.warn("IO error on attempt {}/{} for {}: {}",
+                    attempt, request.maxAttempts, subscriptionName, error);
+
+        } catch (RuntimeException e) {
+            logger.error("Fetch for {} failed: {}", subscriptionName, e.getMessage(), e);
+            finish(request, FetchedPage.failed(ScrapeErrorClass.INTERNAL, e.getMessage()));
+            return;
+        }
+
+        if (attempt >= request.maxAttempts) {
+            logger.error("All {} fetch attempts failed for {}. Last error: {}",
+                    request.maxAttempts, subscriptionName, error);
+            finish(request, FetchedPage.failed(errorClass, error));
+            return;
+        }
+
+        // Server-requested delay wins over backoff, but is not waited out past the cap
+        long maxDelayMs = scraperConfig.getMaxRetryDelayMs();
+        long delayMs;
+        if (retryAfterMs >= 0) {
+            if (retryAfterMs > maxDelayMs) {
+                logger.error("{} asked to retry after {}ms, more than the {}ms limit. Giving up.",
+                        subscriptionName, retryAfterMs, maxDelayMs);
+                finish(request, FetchedPage.failed(ScrapeErrorClass.RATE_LIMITED, error));
+                return;
+            }
+            delayMs = retryAfterMs;
+        } else {
+            delayMs = Math.min(scraperConfig.getRetryDelay(attempt), maxDelayMs);
+        }
+
+        logger.info("Retrying {} in {}ms (attempt {})", subscriptionName, delayMs, attempt + 1);
+        schedule(request, attempt + 1, delayMs);
+    }
+
+    // One HTTP request; returns the final page or throws if it should be retried
+    private FetchedPage attempt(FetchRequest request) throws IOException {
+        PageFingerprint previous = request.previous;
+
+        Map<String, String> headers = new HashMap<>();
+        if (previous != null) {
+            if (previous.getEtag() != null) {
+                headers.put("If-None-Match", previous.getEtag());
+            }
+            if (previous.getLastModified() != null) {
+                headers.put("If-Modified-Since", previous.getLastModified());
+            }
+        }
+
+        ScraperHttpClient.Response response = httpClient.get(request.url, headers, request.result);
+        request.requests += response.requests;
+        request.bytesReceived += response.bytesReceived;
+        request.connectionsReused += response.connectionsReused;
+        int status = response.statusCode;
+
+        if (status == 304 && previous != null) {
+            logger.info("{} not modified since last run (HTTP 304)", request.subscriptionName);
+            return FetchedPage.notModified(previous.getEtag(), previous.getLastModified(),
+                    previous.getContentHash());
+        }
+
+        if (isRetryableStatus(status)) {
+            throw new RetryableFetchException(
+                    status == 429 ? ScrapeErrorClass.RATE_LIMITED : ScrapeErrorClass.HTTP_SERVER, "HTTP " + status,
+                    parseRetryAfterMs(response.header("Retry-After"), System.currentTimeMillis()));
+        }
+
+        if (status < 200 || status >= 300) {
+            logger.error("Fetch for {} failed with HTTP {}, not retrying", request.subscriptionName, status);
+            return FetchedPage.failed(ScrapeErrorClass.HTTP_CLIENT, "HTTP " + status);
+        }
+
+        if (response.contentType != null && !isHtml(response.contentType)) {
+            logger.error("Fetch for {} returned {}, not HTML", request.subscriptionName, response.contentType);
+            return FetchedPage.failed(ScrapeErrorClass.NOT_HTML,
+                    "Unsupported content type " + response.contentType);
+        }
+
+        // Parse the bytes already in hand; a null charset lets Jsoup read it from the page
+        long parseStart = System.nanoTime();
+        Document doc = Jsoup.parse(new ByteArrayInputStream(response.body), response.charset, request.url);
+        String contentHash = contentHash(doc);
+        request.parseNanos += System.nanoTime() - parseStart;
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+
+        logger.debug("Successfully fetched {}", request.subscriptionName);
+
+        if (previous != null && contentHash.equals(previous.getContentHash())) {
+            logger.info("{} content unchanged since last run (same hash)", request.subscriptionName);
+            return FetchedPage.unchanged(etag, lastModified, contentHash);
+        }
+
+        return FetchedPage.fetched(doc, etag, lastModified, contentHash);
+    }
+
+    private void finish(FetchRequest request, FetchedPage page) {
+        if (page.status == FetchedPage.Status.FAILED) {
+            circuitBreaker.recordFailure(request.host);
+        } else {
+            circuitBreaker.recordSuccess(request.host);
+        }
+        long parseNanos = request.parseNanos;
+        long fetchNanos = System.nanoTime() - request.startNanos - parseNanos;
+        request.result.complete(page.withStats(request.requests, request.bytesReceived,
+                request.connectionsReused, fetchNanos, parseNanos));
+    }
+
+    /**
+     * Timeouts, throttling and server errors are worth retrying; any other
+     * 4xx means the request itself is wrong and will fail again.
+     */
+    static boolean isRetryableStatus(int status) {
+        return status == 408 || status == 425 || status == 429 || status == 500
+                || status == 502 || status == 503 || status == 504;
+    }
+
+    // Connection resets and refusals are retried; bad TLS, bad URLs, unknown hosts,
+    // oversized bodies and protocol violations are not
+    private static boolean isRetryable(IOException e) {
+        return !(e instanceof SSLException
+                || e instanceof UnknownHostException
+                || e instanceof MalformedURLException
+                || e instanceof ScraperHttpClient.ResponseTooLargeException
+                || e instanceof ClientProtocolException);
+    }
+
+    private static boolean isHtml(String mimeType) {
+        return mimeType.startsWith("text/") || mimeType.equals("application/xhtml+xml")
+                || mimeType.equals("application/xml");
+    }
+
+    /**
+     * Parse a Retry-After header, given either as delay-seconds or as an
+     * HTTP-date.
+     *
+     * @return milliseconds to wait, or -1 if absent or unreadable
+     */
+    static long parseRetryAfterMs(String value, long nowMillis) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(trimmed) * 1000);
+        } catch (NumberFormatException e) {
+            // Not delay-seconds; try an HTTP-date
+        }
+        try {
+            long retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, retryAt - nowMillis);
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private boolean isExpired(PageFingerprint fingerprint) {
+        return fingerprint.getLastAppliedAt() == null
+                || fingerprint.getLastAppliedAt()
+                        .isBefore(LocalDateTime.now().minusHours(scraperConfig.getFingerprintMaxAgeHours()));
+    }
+
+    /**
+     * SHA-256 of the page's visible text. doc.text() collapses whitespace and
+     * drops scripts/attributes, so per-request nonces and markup churn don't
+     * register as a change.
+     */
+    static String contentHash(Document doc) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(doc.text().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
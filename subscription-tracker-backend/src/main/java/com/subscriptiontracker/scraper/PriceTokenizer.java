@@ -0,0 +1,319 @@
+package com.subscriptiontracker.scraper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass scanner for currency amounts in page text.
+ *
+ * Finds every rupee (₹, Rs, INR) and dollar ($) amount in one left-to-right
+ * walk, parsing digits in place instead of going through substring +
+ * Double.parseDouble, and reports each amount with its position and, when the
+ * text right after it says so ("/month", "/ 3 months", "per year",
+ * "for 3 months"), its billing period in months.
+ *
+ * Use it as a cursor to scan without allocating per token:
+ *
+ * <pre>
+ * PriceTokenizer tokenizer = new PriceTokenizer(text);
+ * while (tokenizer.next()) {
+ *     tokenizer.getAmount(); tokenizer.getPeriodMonths(); ...
+ * }
+ * </pre>
+ *
+ * or through the static helpers when a list or a single amount is enough.
+ * Instances are not thread-safe; the class itself holds no shared state.
+ */
+public final class PriceTokenizer {
+
+    public enum Currency {
+        INR, USD
+    }
+
+    /** One amount found by {@link #tokenize(CharSequence)}. */
+    public static final class PriceToken {
+        public final Currency currency;
+        public final double amount;
+        public final int start;
+        public final int end;
+        public final int periodMonths;
+
+        PriceToken(Currency currency, double amount, int start, int end, int periodMonths) {
+            this.currency = currency;
+            this.amount = amount;
+            this.start = start;
+            this.end = end;
+            this.periodMonths = periodMonths;
+        }
+
+        @Override
+        public String toString() {
+            return currency + " " + amount + (periodMonths > 0 ? " / " + periodMonths + "mo" : "")
+                    + " @" + start + ".." + end;
+        }
+    }
+
+    // Billing period right after an amount, e.g. "INR/month", "/ 3 months", "per year", "for 6 months"
+    private static final Pattern PERIOD_SUFFIX = Pattern.compile(
+            "[\\s\\u00A0]*(?:(?:INR|USD)[\\s\\u00A0]*)?"
+                    + "(?:/[\\s\\u00A0]*(?:(\\d{1,2})[\\s\\u00A0]*)?(months?|mo|years?|yr)"
+                    + "|per[\\s\\u00A0]+(month|year)"
+                    + "|for[\\s\\u00A0]+(\\d{1,2})[\\s\\u00A0]+months?)",
+            Pattern.CASE_INSENSITIVE);
+
+    // How far past an amount to look for its billing period
+    private static final int SUFFIX_WINDOW = 32;
+
+    // 15 significant digits still convert exactly through a single division
+    private static final int MAX_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final String text;
+    private final int length;
+    private final Matcher suffixMatcher;
+    private int position;
+
+    // Next index of each marker character at or after the last search, or length if none
+    private int nextRupeeSign = -1;
+    private int nextDollarSign = -1;
+    private int nextUpperR = -1;
+    private int nextUpperI = -1;
+
+    // Current token
+    private Currency currency;
+    private double amount;
+    private int start;
+    private int end;
+    private int periodMonths;
+
+    public PriceTokenizer(CharSequence text) {
+        this.text = text != null ? text.toString() : "";
+        this.length = this.text.length();
+        this.suffixMatcher = PERIOD_SUFFIX.matcher(this.text);
+        this.suffixMatcher.useTransparentBounds(true);
+    }
+
+    /**
+     * Advance to the next amount.
+     *
+     * @return false once the end of the text is reached
+     */
+    public boolean next() {
+        String s = text;
+        int n = length;
+
+        for (int i = nextMarker(position); i < n; i = nextMarker(i + 1)) {
+            char c = s.charAt(i);
+            Currency found;
+            int amountStart;
+            if (c == '₹' || c == '$') {
+                found = c == '$' ? Currency.USD : Currency.INR;
+                amountStart = i + 1;
+            } else {
+                amountStart = isLetter(i - 1) ? -1 : matchRupeeWord(i);
+                if (amountStart < 0) {
+                    continue;
+                }
+                found = Currency.INR;
+            }
+
+            int digitsStart = skipSpaces(amountStart);
+            if (digitsStart < n && isDigit(s.charAt(digitsStart)) && readAmount(digitsStart)) {
+                currency = found;
+                start = i;
+                position = end;
+                periodMonths = readPeriod(end);
+                return true;
+            }
+        }
+
+        position = n;
+        return false;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    /** Index of the currency marker. */
+    public int getStart() {
+        return start;
+    }
+
+    /** Index just past the last digit. */
+    public int getEnd() {
+        return end;
+    }
+
+    /** Billing period stated after the amount in months, or 0 if none. */
+    public int getPeriodMonths() {
+        return periodMonths;
+    }
+
+    // ==================== STATIC HELPERS ====================
+
+    public static List<PriceToken> tokenize(CharSequence text) {
+        List<PriceToken> tokens = new ArrayList<>();
+        PriceTokenizer tokenizer = new PriceTokenizer(text);
+        while (tokenizer.next()) {
+            tokens.add(new PriceToken(tokenizer.currency, tokenizer.amount, tokenizer.start, tokenizer.end,
+                    tokenizer.periodMonths));
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the first amount in the given currency, or null if there is none
+     */
+    public static Double firstAmount(CharSequence text, Currency currency) {
+        PriceTokenizer tokenizer = new PriceTokenizer(text);
+        while (tokenizer.next()) {
+            if (tokenizer.currency == currency) {
+                return tokenizer.amount;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the first amount in the given currency billed over exactly
+     *         periodMonths months, or null if there is none
+     */
+    public static Double firstAmount(CharSequence text, Currency currency, int periodMonths) {
+        PriceTokenizer tokenizer = new PriceTokenizer(text);
+        while (tokenizer.next()) {
+            if (tokenizer.currency == currency && tokenizer.periodMonths == periodMonths) {
+                return tokenizer.amount;
+            }
+        }
+        return null;
+    }
+
+    // ==================== SCANNING ====================
+
+    /**
+     * Earliest index at or after from that could start a currency marker.
+     * Each marker character is located with String.indexOf (vectorized by the
+     * JIT) and cached until the scan passes it, so the text is not walked
+     * char by char.
+     */
+    private int nextMarker(int from) {
+        if (nextRupeeSign < from) {
+            nextRupeeSign = indexOf('₹', from);
+        }
+        if (nextDollarSign < from) {
+            nextDollarSign = indexOf('$', from);
+        }
+        if (nextUpperR < from) {
+            nextUpperR = indexOf('R', from);
+        }
+        if (nextUpperI < from) {
+            nextUpperI = indexOf('I', from);
+        }
+        return Math.min(Math.min(nextRupeeSign, nextDollarSign), Math.min(nextUpperR, nextUpperI));
+    }
+
+    private int indexOf(char c, int from) {
+        int index = text.indexOf(c, from);
+        return index >= 0 ? index : length;
+    }
+
+    // "Rs", "Rs.", "RS" or "INR" as a whole word; returns the index after it, or -1
+    private int matchRupeeWord(int at) {
+        if (text.charAt(at) == 'R') {
+            if (at + 1 < length && (text.charAt(at + 1) == 's' || text.charAt(at + 1) == 'S')) {
+                int after = at + 2;
+                if (after < length && text.charAt(after) == '.') {
+                    after++;
+                }
+                return isLetter(after) ? -1 : after;
+            }
+            return -1;
+        }
+        if (at + 2 < length && text.charAt(at + 1) == 'N' && text.charAt(at + 2) == 'R' && !isLetter(at + 3)) {
+            return at + 3;
+        }
+        return -1;
+    }
+
+    // Parse "1,950", "160.65", "0.028" in place; sets amount and end
+    private boolean readAmount(int from) {
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        int i = from;
+
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (digits < MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (fraction) {
+                        scale++;
+                    }
+                } else if (!fraction) {
+                    // Too many integer digits to be a price
+                    return false;
+                }
+                i++;
+            } else if (c == ',' && !fraction && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                i++;
+            } else if (c == '.' && !fraction && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                fraction = true;
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        amount = mantissa / POWERS_OF_TEN[scale];
+        end = i;
+        return true;
+    }
+
+    private int readPeriod(int from) {
+        suffixMatcher.region(from, Math.min(length, from + SUFFIX_WINDOW));
+        if (!suffixMatcher.lookingAt()) {
+            return 0;
+        }
+
+        String unit = suffixMatcher.group(2);
+        if (unit != null) {
+            String count = suffixMatcher.group(1);
+            int months = Character.toLowerCase(unit.charAt(0)) == 'y' ? 12 : 1;
+            return count != null ? Integer.parseInt(count) * months : months;
+        }
+        String perUnit = suffixMatcher.group(3);
+        if (perUnit != null) {
+            return Character.toLowerCase(perUnit.charAt(0)) == 'y' ? 12 : 1;
+        }
+        return Integer.parseInt(suffixMatcher.group(4));
+    }
+
+    private int skipSpaces(int from) {
+        int i = from;
+        while (i < length && (Character.isWhitespace(text.charAt(i)) || text.charAt(i) == '\u00A0')) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean isLetter(int at) {
+        return at >= 0 && at < length && Character.isLetter(text.charAt(at));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,212 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Runs scrape tasks concurrently on a bounded worker pool.
+ *
+ * Every task is keyed by the URL it fetches: no more than
+ * scraper.concurrency.per-host tasks hit the same host at once, and the
+ * whole run is bounded by scraper.run.deadline-ms. Tasks that have not
+ * finished by the deadline are cancelled and left out of the result map,
+ * so a run takes as long as its slowest site rather than the sum of all sites.
+ *
+ * Tasks are asynchronous: a task waiting out a retry delay holds its host
+ * permit but no worker thread. Tasks must not touch repositories - they run
+ * outside the caller's transaction on the engine's own threads.
+ *
+ * Cancelling a future does not stop the work behind it, so a task's future
+ * must abort any open request by the time cancel() returns: the host permit
+ * of a cancelled task is handed on straight after.
+ */
+@Component
+public class ScrapeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeEngine.class);
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    private ExecutorService executor;
+
+    // One permit pool per host, shared across runs
+    private final Map<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, scraperConfig.getMaxConcurrentFetches()), runnable -> {
+            Thread thread = new Thread(runnable, "scraper-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Worker pool that fetch attempts and parsing run on.
+     */
+    Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Run one task per entry and collect the results by key.
+     *
+     * @param urlsByKey task key (e.g. subscription name) to the URL it fetches
+     * @param task      fetch/parse work, started with the key and its URL once
+     *                  a host permit is free; cancelled at the run deadline,
+     *                  which must abort its open request
+     * @return results for the tasks that completed before the deadline
+     */
+    public <K, R> Map<K, R> runAll(Map<K, String> urlsByKey, BiFunction<K, String, CompletableFuture<R>> task) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scraperConfig.getRunDeadlineMs());
+
+        Map<K, CompletableFuture<Void>> permits = new LinkedHashMap<>();
+        Map<K, HostPermits> hosts = new LinkedHashMap<>();
+        Map<K, CompletableFuture<R>> running = new ConcurrentHashMap<>();
+        Map<K, CompletableFuture<R>> futures = new LinkedHashMap<>();
+
+        for (Map.Entry<K, String> entry : urlsByKey.entrySet()) {
+            K key = entry.getKey();
+            String url = entry.getValue();
+            HostPermits host = hostPermits.computeIfAbsent(hostOf(url),
+                    h -> new HostPermits(Math.max(1, scraperConfig.getMaxFetchesPerHost())));
+
+            CompletableFuture<Void> permit = host.acquire();
+            permits.put(key, permit);
+            hosts.put(key, host);
+            futures.put(key, permit.thenCompose(granted -> {
+                CompletableFuture<R> started;
+                try {
+                    started = task.apply(key, url);
+                } catch (RuntimeException e) {
+                    started = CompletableFuture.failedFuture(e);
+                }
+                CompletableFuture<R> inFlight = started;
+                // A cancelled task releases below, after its request was aborted
+                inFlight.whenComplete((result, error) -> {
+                    if (!inFlight.isCancelled()) {
+                        host.release();
+                    }
+                });
+                running.put(key, inFlight);
+                return inFlight;
+            }));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Stragglers and failures are reported per task below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Scrape run interrupted before completion");
+        }
+
+        Map<K, R> results = new LinkedHashMap<>();
+        for (Map.Entry<K, CompletableFuture<R>> entry : futures.entrySet()) {
+            K key = entry.getKey();
+            CompletableFuture<R> future = entry.getValue();
+
+            if (!future.isDone()) {
+                logger.warn("Scrape task for {} did not finish within the {}ms run deadline",
+                        key, scraperConfig.getRunDeadlineMs());
+                permits.get(key).cancel(false);
+                CompletableFuture<R> started = running.get(key);
+                if (started != null && started.cancel(false)) {
+                    hosts.get(key).release();
+                }
+                future.cancel(false);
+                continue;
+            }
+
+            try {
+                results.put(key, future.join());
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.error("Scrape task for {} failed: {}", key, cause.getMessage());
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Host permits handed out as futures, so waiting for a busy host does
+     * not block a worker thread.
+     */
+    private static final class HostPermits {
+        private int available;
+        private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+
+        HostPermits(int permits) {
+            this.available = permits;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiting.add(permit);
+            return permit;
+        }
+
+        void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = waiting.poll();
+                    if (next == null) {
+                        available++;
+                        return;
+                    }
+                }
+                // Waiters cancelled at the deadline are skipped
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase() : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
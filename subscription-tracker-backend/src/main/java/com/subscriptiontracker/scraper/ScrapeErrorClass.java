@@ -0,0 +1,21 @@
+package com.subscriptiontracker.scraper;
+
+/**
+ * Why a subscription did not get freshly scraped plans, as recorded in the
+ * scrape-run ledger.
+ */
+public enum ScrapeErrorClass {
+    TIMEOUT,        // Connect or read timed out on every attempt
+    RATE_LIMITED,   // HTTP 429, or a Retry-After longer than we wait
+    HTTP_CLIENT,    // Other 4xx; retrying would not help
+    HTTP_SERVER,    // 5xx or 408 on every attempt
+    NETWORK,        // Connection, DNS or TLS failure
+    TOO_LARGE,      // Body over scraper.http.max-body-bytes
+    NOT_HTML,       // Response was not an HTML page
+    CIRCUIT_OPEN,   // Host skipped by its circuit breaker
+    DEADLINE,       // Not finished before the run deadline
+    NO_URL,         // No pricing page configured
+    INVALID_PLANS,  // Page parsed, but plans were missing or implausible
+    APPLY,          // Plans could not be written
+    INTERNAL        // Unexpected error in the scraper itself
+}
@@ -0,0 +1,10 @@
+package com.subscriptiontracker.scraper;
+
+/**
+ * What a scrape run did for one subscription.
+ */
+public enum ScrapeOutcome {
+    SCRAPED,  // Plans parsed from the live page were saved
+    FALLBACK, // Page failed or parsed badly; hardcoded plans were saved
+    SKIPPED   // Page unchanged since last run; nothing was written
+}
@@ -0,0 +1,71 @@
+package com.subscriptiontracker.scraper;
+
+import java.util.List;
+
+/**
+ * Outcome of fetching and parsing one subscription's pricing page.
+ * Produced on a scraper worker thread and merged back per subscription
+ * by PriceScraperService, which decides whether to apply, skip or fall back.
+ */
+public class ScrapeResult {
+    public final String subscriptionName;
+    public final String url;
+    public final List<ScrapedPlan> plans;
+    public final boolean unchanged;
+    public final String error;
+    public final ScrapeErrorClass errorClass;
+
+    // Page validators to persist once the result has been applied
+    public final String etag;
+    public final String lastModified;
+    public final String contentHash;
+
+    // Network transfer for the page, 0 when nothing was fetched
+    public final int requests;
+    public final long bytesReceived;
+    public final int connectionsReused;
+    public final long fetchNanos;
+    public final long parseNanos; // Building the document plus extracting plans
+
+    private ScrapeResult(String subscriptionName, String url, List<ScrapedPlan> plans, boolean unchanged,
+            String error, ScrapeErrorClass errorClass, FetchedPage page, long extractNanos) {
+        this.subscriptionName = subscriptionName;
+        this.url = url;
+        this.plans = plans;
+        this.unchanged = unchanged;
+        this.error = error;
+        this.errorClass = errorClass;
+        this.etag = page != null ? page.etag : null;
+        this.lastModified = page != null ? page.lastModified : null;
+        this.contentHash = page != null ? page.contentHash : null;
+        this.requests = page != null ? page.requests : 0;
+        this.bytesReceived = page != null ? page.bytesReceived : 0;
+        this.connectionsReused = page != null ? page.connectionsReused : 0;
+        this.fetchNanos = page != null ? page.fetchNanos : 0;
+        this.parseNanos = (page != null ? page.parseNanos : 0) + extractNanos;
+    }
+
+    public static ScrapeResult success(String subscriptionName, String url, FetchedPage page,
+            List<ScrapedPlan> plans, long extractNanos) {
+        return new ScrapeResult(subscriptionName, url, plans, false, null, null, page, extractNanos);
+    }
+
+    public static ScrapeResult unchanged(String subscriptionName, String url, FetchedPage page) {
+        return new ScrapeResult(subscriptionName, url, null, true, null, null, page, 0);
+    }
+
+    public static ScrapeResult failure(String subscriptionName, ScrapeErrorClass errorClass, String error) {
+        return new ScrapeResult(subscriptionName, null, null, false, error, errorClass, null, 0);
+    }
+
+    // Failed fetch; keeps the page's transfer counts and timings but none of its validators
+    public static ScrapeResult failure(String subscriptionName, FetchedPage page) {
+        return new ScrapeResult(subscriptionName, null, null, false, page.error, page.errorClass,
+                FetchedPage.failed(page.errorClass, page.error).withStats(page.requests, page.bytesReceived,
+                        page.connectionsReused, page.fetchNanos, page.parseNanos), 0);
+    }
+
+    public boolean isSuccess() {
+        return plans != null;
+    }
+}
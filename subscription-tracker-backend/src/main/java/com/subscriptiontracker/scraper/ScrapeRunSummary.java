@@ -0,0 +1,93 @@
+package com.subscriptiontracker.scraper;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-run counters returned by PriceScraperService.scrapeAllPrices().
+ */
+public class ScrapeRunSummary {
+
+    private final Map<ScrapeOutcome, Integer> outcomes = new EnumMap<>(ScrapeOutcome.class);
+    private int pagesRequested;
+    private int pagesFetched;
+    private int pagesShortCircuited;
+    private int requests;
+    private long bytesReceived;
+    private int connectionsReused;
+
+    public void record(ScrapeOutcome outcome) {
+        outcomes.merge(outcome, 1, Integer::sum);
+    }
+
+    public void setPagesRequested(int pagesRequested) {
+        this.pagesRequested = pagesRequested;
+    }
+
+    public void setPagesFetched(int pagesFetched) {
+        this.pagesFetched = pagesFetched;
+    }
+
+    public void incrementPagesShortCircuited() {
+        pagesShortCircuited++;
+    }
+
+    public void addTransfer(ScrapeResult result) {
+        requests += result.requests;
+        bytesReceived += result.bytesReceived;
+        connectionsReused += result.connectionsReused;
+    }
+
+    public int getPagesRequested() {
+        return pagesRequested;
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    // Pages answered with 304 or an identical content hash
+    public int getPagesShortCircuited() {
+        return pagesShortCircuited;
+    }
+
+    // HTTP requests sent, including retries and redirects
+    public int getRequests() {
+        return requests;
+    }
+
+    // Response body bytes as sent over the wire (before decompression)
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    // Requests that went out on an already open connection
+    public int getConnectionsReused() {
+        return connectionsReused;
+    }
+
+    public int getScraped() {
+        return outcomes.getOrDefault(ScrapeOutcome.SCRAPED, 0);
+    }
+
+    public int getFallback() {
+        return outcomes.getOrDefault(ScrapeOutcome.FALLBACK, 0);
+    }
+
+    public int getSkipped() {
+        return outcomes.getOrDefault(ScrapeOutcome.SKIPPED, 0);
+    }
+
+    // Subscriptions given an outcome in this run
+    public int getProcessed() {
+        return getScraped() + getFallback() + getSkipped();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d pages fetched, %d short-circuited; %d scraped, %d fallback, %d skipped; "
+                        + "%d requests, %d bytes received, %d on reused connections",
+                pagesFetched, pagesRequested, pagesShortCircuited, getScraped(), getFallback(), getSkipped(),
+                requests, bytesReceived, connectionsReused);
+    }
+}
@@ -0,0 +1,33 @@
+package com.subscriptiontracker.scraper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plan data as read off a vendor pricing page, before normalization into a
+ * SubscriptionPlan row.
+ */
+public class ScrapedPlan {
+    public String planName;
+    public Double priceMonthly;
+    public Double priceYearly;
+    public String videoQuality;
+    public Integer maxScreens;
+    public Integer downloadDevices;
+    public Boolean hasAds;
+    public List<String> features;
+    public String extraFeatures;
+    public String deviceTypes;
+
+    public ScrapedPlan(String planName) {
+        this.planName = planName;
+        this.features = new ArrayList<>();
+        this.hasAds = false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Plan[%s: ₹%.0f/month, %s, %d screens]",
+                planName, priceMonthly, videoQuality, maxScreens);
+    }
+}
@@ -0,0 +1,328 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.HttpRequestRetryStrategy;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.brotli.dec.BrotliInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The one HTTP client every scraper fetch goes through.
+ *
+ * Connections are pooled and kept alive across fetches and runs (sized from
+ * scraper.concurrency.*), responses are negotiated as gzip, deflate or
+ * brotli and decoded here, and bodies are cut off at
+ * scraper.http.max-body-bytes. Each call reports the compressed body bytes
+ * received and how many of its requests went out on a reused connection.
+ *
+ * Redirects are followed here; retries are left to {@link PageFetcher}.
+ */
+@Component
+public class ScraperHttpClient {
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate, br";
+
+    // Counters for the call running on this thread; connections are opened
+    // and requests sent on the calling thread by the classic client
+    private static final ThreadLocal<Response.Builder> CURRENT_CALL = new ThreadLocal<>();
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    private CloseableHttpClient client;
+
+    private final AtomicLong totalRequests = new AtomicLong();
+    private final AtomicLong totalConnectionsOpened = new AtomicLong();
+    private final AtomicLong totalBytesReceived = new AtomicLong();
+
+    /** Status, headers and decoded body of one fetch, with its transfer counts. */
+    public static final class Response {
+        public final int statusCode;
+        public final byte[] body;           // Decoded; empty unless 2xx
+        public final String charset;        // From Content-Type, or null to let the parser sniff it
+        public final String contentType;    // MIME type only, or null
+        public final long bytesReceived;    // Body bytes as sent over the wire
+        public final int requests;          // Including redirect hops
+        public final int connectionsReused;
+        private final Map<String, String> headers;
+
+        private Response(Builder builder) {
+            this.statusCode = builder.statusCode;
+            this.body = builder.body;
+            this.charset = builder.charset;
+            this.contentType = builder.contentType;
+            this.bytesReceived = builder.bytesReceived;
+            this.requests = builder.requests;
+            this.connectionsReused = Math.max(0, builder.requests - builder.connectionsOpened);
+            this.headers = builder.headers;
+        }
+
+        public String header(String name) {
+            return headers.get(name);
+        }
+
+        private static final class Builder {
+            int statusCode;
+            byte[] body = new byte[0];
+            String charset;
+            String contentType;
+            long bytesReceived;
+            int requests;
+            int connectionsOpened;
+            final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
+    }
+
+    /** Thrown when a body is larger than scraper.http.max-body-bytes. */
+    public static class ResponseTooLargeException extends IOException {
+        public ResponseTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        Timeout timeout = Timeout.ofMilliseconds(scraperConfig.getConnectionTimeout());
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(Math.max(1, scraperConfig.getMaxConcurrentFetches()))
+                .setMaxConnPerRoute(Math.max(1, scraperConfig.getMaxFetchesPerHost()))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .setConnectionFactory(socket -> {
+                    Response.Builder call = CURRENT_CALL.get();
+                    if (call != null) {
+                        call.connectionsOpened++;
+                    }
+                    totalConnectionsOpened.incrementAndGet();
+                    return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+                })
+                .build();
+
+        client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setUserAgent(scraperConfig.getUserAgent())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(timeout)
+                        .setRedirectsEnabled(true)
+                        .build())
+                .addRequestInterceptorLast((request, entity, context) -> {
+                    Response.Builder call = CURRENT_CALL.get();
+                    if (call != null) {
+                        call.requests++;
+                    }
+                    totalRequests.incrementAndGet();
+                })
+                .setRetryStrategy(new StaleConnectionRetryStrategy())
+                // Decoded below so the compressed size can be counted
+                .disableContentCompression()
+                .disableCookieManagement()
+                .evictIdleConnections(TimeValue.ofMinutes(1))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        client.close();
+    }
+
+    /**
+     * GET a URL, following redirects.
+     *
+     * @param headers extra request headers, e.g. conditional-request validators
+     * @return the response; the body is only read for 2xx statuses
+     */
+    public Response get(String url, Map<String, String> headers) throws IOException {
+        return get(url, headers, null);
+    }
+
+    /**
+     * GET a URL, aborting the request once abortOn completes.
+     *
+     * @param abortOn when it completes first, the connection is closed and
+     *                this throws; may be null
+     * @see #get(String, Map)
+     */
+    public Response get(String url, Map<String, String> headers, CompletableFuture<?> abortOn) throws IOException {
+        HttpGet request = new HttpGet(url);
+        request.setHeader("Accept", "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8");
+        request.setHeader("Accept-Encoding", ACCEPT_ENCODING);
+        headers.forEach(request::setHeader);
+        if (abortOn != null) {
+            // Runs at once if abortOn is already done; execute() then fails straight away
+            abortOn.whenComplete((result, error) -> request.cancel());
+        }
+
+        Response.Builder call = new Response.Builder();
+        CURRENT_CALL.set(call);
+        try {
+            return client.execute(request, response -> read(response, call));
+        } finally {
+            CURRENT_CALL.remove();
+            totalBytesReceived.addAndGet(call.bytesReceived);
+        }
+    }
+
+    public long getTotalRequests() {
+        return totalRequests.get();
+    }
+
+    public long getTotalConnectionsReused() {
+        return Math.max(0, totalRequests.get() - totalConnectionsOpened.get());
+    }
+
+    public long getTotalBytesReceived() {
+        return totalBytesReceived.get();
+    }
+
+    private Response read(ClassicHttpResponse response, Response.Builder call) throws IOException {
+        call.statusCode = response.getCode();
+        for (Header header : response.getHeaders()) {
+            call.headers.putIfAbsent(header.getName(), header.getValue());
+        }
+
+        HttpEntity entity = response.getEntity();
+        if (entity == null || call.statusCode < 200 || call.statusCode >= 300) {
+            return new Response(call);
+        }
+
+        ContentType contentType = ContentType.parseLenient(entity.getContentType());
+        if (contentType != null) {
+            call.contentType = contentType.getMimeType();
+            Charset charset = contentType.getCharset();
+            call.charset = charset != null ? charset.name() : null;
+        }
+
+        long maxBytes = scraperConfig.getMaxBodyBytes();
+        if (entity.getContentLength() > maxBytes) {
+            throw new ResponseTooLargeException("Body of " + entity.getContentLength()
+                    + " bytes exceeds the " + maxBytes + " byte limit");
+        }
+
+        try (CountingInputStream raw = new CountingInputStream(entity.getContent());
+             InputStream decoded = decode(raw, entity.getContentEncoding())) {
+            call.body = readBounded(decoded, maxBytes);
+            call.bytesReceived = raw.count;
+        }
+        return new Response(call);
+    }
+
+    private static InputStream decode(InputStream raw, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return raw;
+        }
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(raw);
+            case "deflate":
+                return new InflaterInputStream(raw);
+            case "br":
+                return new BrotliInputStream(raw);
+            default:
+                return raw;
+        }
+    }
+
+    private static byte[] readBounded(InputStream in, long maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        byte[] buffer = new byte[8 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new ResponseTooLargeException("Body exceeds the " + maxBytes + " byte limit");
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Resends a request once when a pooled keep-alive connection turns out to
+     * have been closed by the server. Every other failure, and every status
+     * code, is left to PageFetcher's retry policy.
+     */
+    private static final class StaleConnectionRetryStrategy implements HttpRequestRetryStrategy {
+
+        @Override
+        public boolean retryRequest(HttpRequest request, IOException exception, int execCount,
+                HttpContext context) {
+            return execCount <= 1 && exception instanceof NoHttpResponseException;
+        }
+
+        @Override
+        public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+            return false;
+        }
+
+        @Override
+        public TimeValue getRetryInterval(HttpResponse response, int execCount, HttpContext context) {
+            return TimeValue.ZERO_MILLISECONDS;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.PriceTokenizer;
+import com.subscriptiontracker.scraper.PriceTokenizer.Currency;
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Amazon.in Prime help page: membership fee table.
+ */
+@Component
+public class AmazonPrimePlanExtractor implements PlanExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AmazonPrimePlanExtractor.class);
+
+    private static final Evaluator PRICE_TABLES = QueryParser.parse("table.a-bordered");
+    private static final Evaluator ROWS = QueryParser.parse("tr");
+    private static final Evaluator CELLS = QueryParser.parse("td");
+
+    private static final Pattern MONTHS = Pattern.compile("(\\d+)\\s*month");
+    private static final Pattern BARE_PRICE = Pattern.compile("([\\d,]+(?:\\.\\d{2})?)");
+
+    // Text fallback: plan name, price pattern, billing period in months
+    private static final List<TextPlan> TEXT_PLANS = List.of(
+            new TextPlan("Monthly Prime (1 month)", "Monthly Prime.*?₹\\s*([\\d,]+)", 1),
+            new TextPlan("Quarterly Prime (3 months)", "Quarterly Prime.*?₹\\s*([\\d,]+)", 3),
+            new TextPlan("Annual Prime (12 months)", "Annual Prime(?!\\s*Lite).*?₹\\s*([\\d,]+)", 12),
+            new TextPlan("Annual Prime Lite (12 months)", "Annual Prime Lite.*?₹\\s*([\\d,]+)", 12),
+            new TextPlan("Prime Shopping Edition (12 months)", "Prime Shopping Edition.*?₹\\s*([\\d,]+)", 12));
+
+    private static final class TextPlan {
+        final String name;
+        final Pattern pattern;
+        final int durationMonths;
+
+        TextPlan(String name, String regex, int durationMonths) {
+            this.name = name;
+            this.pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+            this.durationMonths = durationMonths;
+        }
+    }
+
+    @Override
+    public String getSubscriptionName() {
+        return "Amazon Prime";
+    }
+
+    @Override
+    public List<ScrapedPlan> extract(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        try {
+            // Find the table with class "a-bordered" containing pricing info
+            Elements tables = doc.select(PRICE_TABLES);
+
+            for (Element table : tables) {
+                Elements rows = table.select(ROWS);
+
+                for (Element row : rows) {
+                    Elements cells = row.select(CELLS);
+
+                    // Skip header row (contains <strong> with "Plan")
+                    if (cells.size() >= 2) {
+                        String planCell = cells.get(0).text().trim();
+                        String priceCell = cells.get(1).text().trim();
+
+                        // Skip if this is the header row
+                        if (planCell.equalsIgnoreCase("Plan") || priceCell.toLowerCase().contains("price")) {
+                            continue;
+                        }
+
+                        // Parse the plan name (e.g., "Monthly Prime (1 month)")
+                        String planName = planCell;
+
+                        // Parse the price (e.g., "₹ 299")
+                        Double price = parsePriceFromText(priceCell);
+
+                        if (price != null && !planName.isEmpty()) {
+                            ScrapedPlan plan = new ScrapedPlan(planName);
+
+                            // Determine duration and calculate monthly price
+                            int durationMonths = extractDurationMonths(planName);
+
+                            if (durationMonths == 1) {
+                                plan.priceMonthly = price;
+                            } else if (durationMonths == 3) {
+                                plan.priceMonthly = Math.round(price / 3.0 * 100.0) / 100.0;
+                                plan.priceYearly = price * 4; // Extrapolate to yearly
+                            } else if (durationMonths == 12) {
+                                plan.priceMonthly = Math.round(price / 12.0 * 100.0) / 100.0;
+                                plan.priceYearly = price;
+                            } else {
+                                plan.priceMonthly = price; // Default to as-is
+                            }
+
+                            // Set features based on plan type
+                            setAmazonPrimeFeatures(plan, planName);
+
+                            plans.add(plan);
+                            logger.info("Extracted Amazon Prime plan: {} - ₹{} (₹{}/month)",
+                                    planName, price, plan.priceMonthly);
+                        }
+                    }
+                }
+            }
+
+            // If table parsing failed, try text-based extraction
+            if (plans.isEmpty()) {
+                plans = extractAmazonPrimePlansFromText(doc);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error extracting Amazon Prime plans: {}", e.getMessage(), e);
+        }
+
+        return plans;
+    }
+
+    // Extract duration in months from plan name
+    private int extractDurationMonths(String planName) {
+        String lower = planName.toLowerCase();
+
+        if (lower.contains("1 month") || lower.contains("monthly")) {
+            return 1;
+        } else if (lower.contains("3 month") || lower.contains("quarterly")) {
+            return 3;
+        } else if (lower.contains("12 month") || lower.contains("annual") || lower.contains("yearly")) {
+            return 12;
+        }
+
+        // Try to extract number of months using regex
+        Matcher matcher = MONTHS.matcher(lower);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1));
+        }
+
+        return 1; // Default to monthly
+    }
+
+    // Set features for Amazon Prime plans based on plan type
+    private void setAmazonPrimeFeatures(ScrapedPlan plan, String planName) {
+        String lower = planName.toLowerCase();
+
+        plan.deviceTypes = "All Devices";
+        plan.hasAds = false;
+
+        if (lower.contains("lite")) {
+            // Prime Lite - limited features
+            plan.features.add("Prime Video with ads on Mobile");
+            plan.features.add("Ad-free music");
+            plan.features.add("Free delivery on eligible orders");
+            plan.features.add("Mobile-only video streaming");
+            plan.videoQuality = "SD/HD (Mobile only)";
+            plan.maxScreens = 1;
+            plan.hasAds = true; // Has ads on video
+            plan.extraFeatures = "Limited Prime benefits";
+        } else if (lower.contains("shopping edition")) {
+            // Shopping Edition - shopping benefits only
+            plan.features.add("Free delivery on eligible orders");
+            plan.features.add("Early access to deals");
+            plan.features.add("No Prime Video");
+            plan.features.add("No Prime Music");
+            plan.videoQuality = "N/A";
+            plan.maxScreens = 0;
+            plan.extraFeatures = "Shopping benefits only";
+        } else {
+            // Full Prime (Monthly, Quarterly, Annual)
+            plan.features.add("Unlimited ad-free Prime Video streaming");
+            plan.features.add("Ad-free Prime Music");
+            plan.features.add("Free & fast delivery");
+            plan.features.add("Prime Reading");
+            plan.features.add("Prime Gaming benefits");
+            plan.features.add("Early access to deals");
+            plan.videoQuality = "4K Ultra HD";
+            plan.maxScreens = 3;
+            plan.downloadDevices = 2;
+            plan.extraFeatures = "Full Prime benefits";
+        }
+    }
+
+    // Fallback: Extract plans from page text if table parsing fails
+    private List<ScrapedPlan> extractAmazonPrimePlansFromText(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+        String pageText = doc.text();
+
+        for (TextPlan textPlan : TEXT_PLANS) {
+            Matcher matcher = textPlan.pattern.matcher(pageText);
+
+            if (matcher.find()) {
+                String priceStr = matcher.group(1).replace(",", "");
+                Double price = Double.parseDouble(priceStr);
+
+                ScrapedPlan plan = new ScrapedPlan(textPlan.name);
+                plan.priceMonthly = Math.round(price / textPlan.durationMonths * 100.0) / 100.0;
+                if (textPlan.durationMonths == 12) {
+                    plan.priceYearly = price;
+                }
+
+                setAmazonPrimeFeatures(plan, textPlan.name);
+                plans.add(plan);
+
+                logger.debug("Extracted from text: {} - ₹{}", textPlan.name, price);
+            }
+        }
+
+        return plans;
+    }
+
+    // Parse price from text like "₹ 299" or "₹299"
+    private Double parsePriceFromText(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        // Price with rupee symbol
+        Double rupees = PriceTokenizer.firstAmount(text, Currency.INR);
+        if (rupees != null) {
+            return rupees;
+        }
+
+        // Try without rupee symbol - just extract numbers
+        Matcher numMatcher = BARE_PRICE.matcher(text);
+
+        if (numMatcher.find()) {
+            String priceStr = numMatcher.group(1).replace(",", "");
+            try {
+                Double price = Double.parseDouble(priceStr);
+                // Sanity check - Amazon Prime prices should be between 100 and 5000
+                if (price >= 100 && price <= 5000) {
+                    return price;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+}
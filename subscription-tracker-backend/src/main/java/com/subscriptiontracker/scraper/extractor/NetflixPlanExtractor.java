@@ -0,0 +1,235 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Netflix help-centre plan table (help.netflix.com/en/node/24926).
+ */
+@Component
+public class NetflixPlanExtractor implements PlanExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetflixPlanExtractor.class);
+
+    // Plan table: bold plan name in the first cell, feature list in the second
+    private static final Evaluator TABLE_ROWS = QueryParser.parse("table tr");
+    private static final Evaluator CELLS = QueryParser.parse("td");
+    private static final Evaluator BOLD_TEXT = QueryParser
+            .parse("span[style*=font-weight:bold], .doc-editor__marks__bold, strong, b");
+    private static final Evaluator LIST_ITEMS = QueryParser.parse("li");
+    private static final Evaluator HEADINGS = QueryParser.parse("h3, h2, h4");
+    private static final Evaluator NESTED_LIST_ITEMS = QueryParser.parse("ul li");
+
+    private static final Pattern PAGE_PRICE = Pattern.compile("(Mobile|Basic|Standard|Premium)[:\\s]+₹\\s*(\\d+)");
+    private static final Pattern SCREENS = Pattern.compile("watch on (\\d+)");
+    private static final Pattern DOWNLOADS = Pattern.compile("download on (\\d+)");
+
+    // Pricing list items, most specific first
+    private static final Pattern[] PRICING_ITEM_PATTERNS = {
+            Pattern.compile("(Mobile|Basic|Standard|Premium)[:\\s]*₹\\s*(\\d+(?:,\\d+)?)\\s*(?:INR)?\\s*/\\s*month",
+                    Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(Mobile|Basic|Standard|Premium)[:\\s]*₹\\s*(\\d+(?:,\\d+)?)",
+                    Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(Mobile|Basic|Standard|Premium)[^₹]*₹\\s*(\\d+(?:,\\d+)?)", Pattern.CASE_INSENSITIVE)
+    };
+
+    @Override
+    public String getSubscriptionName() {
+        return "Netflix";
+    }
+
+    @Override
+    public List<ScrapedPlan> extract(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+        Map<String, ScrapedPlan> planMap = new LinkedHashMap<>();
+
+        // Step 1: Extract plan names and features from the table
+        Elements tableRows = doc.select(TABLE_ROWS);
+
+        for (Element row : tableRows) {
+            Elements cells = row.select(CELLS);
+            if (cells.size() >= 2) {
+                // First cell contains plan name (in bold)
+                Element nameCell = cells.get(0);
+                Element boldElement = nameCell.selectFirst(BOLD_TEXT);
+
+                if (boldElement != null) {
+                    String planName = boldElement.text().trim();
+
+                    // Skip header row
+                    if (planName.equalsIgnoreCase("Netflix Plans")) {
+                        continue;
+                    }
+
+                    ScrapedPlan plan = new ScrapedPlan(planName);
+
+                    // Second cell contains features list
+                    Element featuresCell = cells.get(1);
+                    Elements featureItems = featuresCell.select(LIST_ITEMS);
+
+                    for (Element featureItem : featureItems) {
+                        String featureText = featureItem.text().trim();
+                        plan.features.add(featureText);
+
+                        // Parse specific features
+                        parseNetflixFeature(plan, featureText);
+                    }
+
+                    planMap.put(planName, plan);
+                    logger.debug("Extracted Netflix plan: {} with {} features", planName, plan.features.size());
+                }
+            }
+        }
+
+        // Step 2: Extract pricing from the pricing section
+        // Look for "Pricing" heading and the list that follows
+        Elements headings = doc.select(HEADINGS);
+        for (Element heading : headings) {
+            if (heading.text().toLowerCase().contains("pricing")) {
+                // Find the next ul element
+                Element nextElement = heading.nextElementSibling();
+                while (nextElement != null) {
+                    if (nextElement.tagName().equalsIgnoreCase("ul")) {
+                        Elements priceItems = nextElement.select(LIST_ITEMS);
+                        for (Element priceItem : priceItems) {
+                            parsePricingItem(planMap, priceItem.text());
+                        }
+                        break;
+                    } else if (nextElement.tagName().equalsIgnoreCase("div")) {
+                        // Price might be inside a div
+                        Elements innerList = nextElement.select(NESTED_LIST_ITEMS);
+                        for (Element priceItem : innerList) {
+                            parsePricingItem(planMap, priceItem.text());
+                        }
+                        if (!innerList.isEmpty())
+                            break;
+                    }
+                    nextElement = nextElement.nextElementSibling();
+                }
+                break;
+            }
+        }
+
+        // If we couldn't find pricing section, try parsing from page text
+        if (planMap.values().stream().allMatch(p -> p.priceMonthly == null)) {
+            String pageText = doc.text();
+
+            // Pattern: "Mobile: ₹149 INR/month" or "Mobile ₹149"
+            Matcher matcher = PAGE_PRICE.matcher(pageText);
+
+            while (matcher.find()) {
+                String planName = matcher.group(1);
+                Double price = Double.parseDouble(matcher.group(2));
+
+                if (planMap.containsKey(planName)) {
+                    planMap.get(planName).priceMonthly = price;
+                } else {
+                    ScrapedPlan plan = new ScrapedPlan(planName);
+                    plan.priceMonthly = price;
+                    planMap.put(planName, plan);
+                }
+            }
+        }
+
+        plans.addAll(planMap.values());
+
+        // Log what we found
+        for (ScrapedPlan plan : plans) {
+            logger.info("Netflix {}: ₹{}/month, Quality: {}, Screens: {}",
+                    plan.planName, plan.priceMonthly, plan.videoQuality, plan.maxScreens);
+        }
+
+        return plans;
+    }
+
+    // Parse individual Netflix feature text
+    private void parseNetflixFeature(ScrapedPlan plan, String featureText) {
+        String lowerText = featureText.toLowerCase();
+
+        // Parse video quality
+        if (lowerText.contains("480p") || lowerText.contains("sd")) {
+            plan.videoQuality = "480p (SD)";
+        } else if (lowerText.contains("720p")
+                || (lowerText.contains("hd") && !lowerText.contains("full hd") && !lowerText.contains("ultra"))) {
+            plan.videoQuality = "720p (HD)";
+        } else if (lowerText.contains("1080p") || lowerText.contains("full hd")) {
+            plan.videoQuality = "1080p (Full HD)";
+        } else if (lowerText.contains("4k") || lowerText.contains("ultra hd")) {
+            plan.videoQuality = "4K (Ultra HD)";
+            if (lowerText.contains("hdr")) {
+                plan.videoQuality += " + HDR";
+            }
+        }
+
+        // Parse max screens/devices
+        Matcher screenMatcher = SCREENS.matcher(lowerText);
+        if (screenMatcher.find()) {
+            plan.maxScreens = Integer.parseInt(screenMatcher.group(1));
+        }
+
+        // Parse download devices
+        Matcher downloadMatcher = DOWNLOADS.matcher(lowerText);
+        if (downloadMatcher.find()) {
+            plan.downloadDevices = Integer.parseInt(downloadMatcher.group(1));
+        }
+
+        // Parse device types
+        if (lowerText.contains("phone") || lowerText.contains("tablet")) {
+            plan.deviceTypes = "Mobile/Tablet";
+        } else if (lowerText.contains("supported device")) {
+            plan.deviceTypes = "All Devices";
+        }
+
+        // Parse extra features
+        if (lowerText.contains("spatial audio")) {
+            plan.extraFeatures = (plan.extraFeatures != null ? plan.extraFeatures + ", " : "") + "Spatial Audio";
+        }
+
+        // Check for ads
+        if (lowerText.contains("ad-free")) {
+            plan.hasAds = false;
+        } else if (lowerText.contains("with ads") || lowerText.contains("ad-supported")) {
+            plan.hasAds = true;
+        }
+    }
+
+    // Parse pricing item like "Mobile: ₹149 INR/month"
+    private void parsePricingItem(Map<String, ScrapedPlan> planMap, String text) {
+        for (Pattern pattern : PRICING_ITEM_PATTERNS) {
+            Matcher matcher = pattern.matcher(text);
+            if (matcher.find()) {
+                String planName = matcher.group(1);
+                String priceStr = matcher.group(2).replace(",", "");
+                Double price = Double.parseDouble(priceStr);
+
+                // Normalize plan name
+                planName = planName.substring(0, 1).toUpperCase() + planName.substring(1).toLowerCase();
+
+                if (planMap.containsKey(planName)) {
+                    planMap.get(planName).priceMonthly = price;
+                    logger.debug("Parsed Netflix price: {} = ₹{}", planName, price);
+                } else {
+                    ScrapedPlan plan = new ScrapedPlan(planName);
+                    plan.priceMonthly = price;
+                    planMap.put(planName, plan);
+                    logger.debug("Created new plan with price: {} = ₹{}", planName, price);
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+
+import java.util.List;
+
+/**
+ * Parses one vendor's pricing page into plans.
+ *
+ * Implementations are Spring beans picked up by PlanExtractorRegistry and
+ * looked up by subscription name. They are called from scraper worker threads,
+ * so they must be stateless: CSS selectors and regexes belong in static final
+ * fields, compiled once when the class loads rather than on every page.
+ */
+public interface PlanExtractor {
+
+    /**
+     * @return the subscription name this extractor handles, matching Subscription.name
+     */
+    String getSubscriptionName();
+
+    /**
+     * @param doc parsed pricing page
+     * @return plans found on the page, or null / empty if none could be parsed
+     */
+    List<ScrapedPlan> extract(Document doc);
+}
@@ -0,0 +1,58 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of PlanExtractor beans by subscription name.
+ *
+ * Not lazy even when spring.main.lazy-initialization is on, so every
+ * extractor class (and its precompiled selectors and patterns) is loaded at
+ * startup and a bad regex fails the boot instead of the first scrape.
+ */
+@Component
+@Lazy(false)
+public class PlanExtractorRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanExtractorRegistry.class);
+
+    @Autowired
+    private List<PlanExtractor> extractors;
+
+    private Map<String, PlanExtractor> extractorsByName;
+
+    @PostConstruct
+    void init() {
+        Map<String, PlanExtractor> byName = new HashMap<>();
+        for (PlanExtractor extractor : extractors) {
+            PlanExtractor existing = byName.put(extractor.getSubscriptionName(), extractor);
+            if (existing != null) {
+                throw new IllegalStateException("Duplicate plan extractors for " + extractor.getSubscriptionName()
+                        + ": " + existing.getClass().getSimpleName() + " and "
+                        + extractor.getClass().getSimpleName());
+            }
+        }
+        extractorsByName = Map.copyOf(byName);
+        logger.info("Registered {} plan extractors: {}", extractorsByName.size(), extractorsByName.keySet());
+    }
+
+    /**
+     * @return the extractor for the subscription, or null if none is registered
+     */
+    public PlanExtractor get(String subscriptionName) {
+        return extractorsByName.get(subscriptionName);
+    }
+
+    public Set<String> getSubscriptionNames() {
+        return extractorsByName.keySet();
+    }
+}
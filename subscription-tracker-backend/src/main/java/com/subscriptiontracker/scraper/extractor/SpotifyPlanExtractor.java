@@ -0,0 +1,233 @@
+package com.subscriptiontracker.scraper.extractor;
+
+import com.subscriptiontracker.scraper.PriceTokenizer;
+import com.subscriptiontracker.scraper.PriceTokenizer.Currency;
+import com.subscriptiontracker.scraper.ScrapedPlan;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Spotify India premium page: plan cards carrying data-event-plan-name.
+ */
+@Component
+public class SpotifyPlanExtractor implements PlanExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpotifyPlanExtractor.class);
+
+    // Plan cards carry data-event-plan-name; class names are hashed, so match on substrings too
+    private static final Evaluator PLAN_CARDS = QueryParser.parse("div[data-event-plan-name]");
+    private static final Evaluator PRICE = QueryParser.parse("p.jIMmw, p[class*='jIMmw']");
+    private static final Evaluator AFTER_PRICE = QueryParser.parse("p.oFhpN, p[class*='oFhpN']");
+    private static final Evaluator FEATURES = QueryParser.parse("ul li p.euprEz, ul li p[class*='euprEz']");
+
+    private static final Pattern ACCOUNTS = Pattern.compile(
+            "(?:up to\\s*)?(\\d+)\\s*(?:lite|standard|platinum|verified)?\\s*accounts?", Pattern.CASE_INSENSITIVE);
+
+    // Text fallback: plan name, price pattern, audio quality, accounts
+    private static final List<TextPlan> TEXT_PLANS = List.of(
+            new TextPlan("Premium Lite", "Lite.*?₹\\s*([\\d,]+)\\s*/\\s*month", "High (~160kbps)", 1),
+            new TextPlan("Premium Standard", "Standard.*?₹\\s*([\\d,]+)\\s*/\\s*month", "Very High (~320kbps)", 1),
+            new TextPlan("Premium Platinum", "Platinum.*?₹\\s*([\\d,]+)\\s*/\\s*month", "Lossless (24-bit)", 3),
+            new TextPlan("Premium Student", "Student.*?₹\\s*([\\d,]+)\\s*/\\s*month", "Very High (~320kbps)", 1));
+
+    private static final class TextPlan {
+        final String name;
+        final Pattern pattern;
+        final String audioQuality;
+        final int accounts;
+
+        TextPlan(String name, String regex, String audioQuality, int accounts) {
+            this.name = name;
+            this.pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+            this.audioQuality = audioQuality;
+            this.accounts = accounts;
+        }
+    }
+
+    @Override
+    public String getSubscriptionName() {
+        return "Spotify";
+    }
+
+    @Override
+    public List<ScrapedPlan> extract(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+
+        try {
+            // Find all plan cards - they have data-event-plan-name attribute
+            Elements planCards = doc.select(PLAN_CARDS);
+
+            logger.info("Found {} Spotify plan cards", planCards.size());
+
+            for (Element planCard : planCards) {
+                String planName = planCard.attr("data-event-plan-name");
+
+                if (planName == null || planName.isEmpty()) {
+                    continue;
+                }
+
+                ScrapedPlan plan = new ScrapedPlan(planName);
+
+                // Extract price - look for the main price element
+                // Price format: "₹139 / month" or "₹99 for 3 months"
+                Element priceElement = planCard.selectFirst(PRICE);
+                if (priceElement != null) {
+                    String priceText = priceElement.text().trim();
+                    plan.priceMonthly = parseSpotifyPrice(priceText);
+                    logger.debug("Found price text: {} -> ₹{}", priceText, plan.priceMonthly);
+                }
+
+                // Check for "after" price (regular price after promo)
+                // Format: "₹199/month after"
+                Element afterPriceElement = planCard.selectFirst(AFTER_PRICE);
+                if (afterPriceElement != null) {
+                    String afterText = afterPriceElement.text().trim();
+                    Double regularPrice = parseSpotifyPrice(afterText);
+                    if (regularPrice != null) {
+                        plan.priceMonthly = regularPrice; // Use the regular price, not promo
+                        logger.debug("Found regular price: {} -> ₹{}", afterText, regularPrice);
+                    }
+                }
+
+                // Extract features from list items
+                Elements featureItems = planCard.select(FEATURES);
+                for (Element featureItem : featureItems) {
+                    String featureText = featureItem.text().trim();
+                    plan.features.add(featureText);
+
+                    // Parse specific features
+                    parseSpotifyFeature(plan, featureText);
+                }
+
+                // Set common Spotify properties
+                plan.hasAds = false; // All Premium plans are ad-free
+                plan.deviceTypes = "All Devices";
+
+                // Only add if we got a valid price
+                if (plan.priceMonthly != null && plan.priceMonthly > 0) {
+                    plans.add(plan);
+                    logger.info("Extracted Spotify plan: {} - ₹{}/month, Audio: {}, Accounts: {}",
+                            planName, plan.priceMonthly, plan.videoQuality, plan.maxScreens);
+                }
+            }
+
+            // If card parsing failed, try text-based extraction as fallback
+            if (plans.isEmpty()) {
+                plans = extractSpotifyPlansFromText(doc);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error extracting Spotify plans: {}", e.getMessage(), e);
+        }
+
+        return plans;
+    }
+
+    // Parse Spotify price from various formats: "₹139 / month" and "₹199/month after"
+    // win over a promo like "₹99 for 3 months" (spread over its months), which wins over
+    // a bare "₹139"
+    private Double parseSpotifyPrice(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        Double promoPrice = null;
+        Double firstPrice = null;
+
+        PriceTokenizer tokenizer = new PriceTokenizer(text);
+        while (tokenizer.next()) {
+            if (tokenizer.getCurrency() != Currency.INR) {
+                continue;
+            }
+
+            int months = tokenizer.getPeriodMonths();
+            if (months == 1) {
+                return tokenizer.getAmount();
+            }
+            if (months > 1 && promoPrice == null) {
+                // Note: This is promo price, we'll use regular price if available
+                promoPrice = Math.round(tokenizer.getAmount() / months * 100.0) / 100.0;
+            }
+            if (firstPrice == null) {
+                firstPrice = tokenizer.getAmount();
+            }
+        }
+
+        return promoPrice != null ? promoPrice : firstPrice;
+    }
+
+    // Parse Spotify feature text to extract plan details
+    private void parseSpotifyFeature(ScrapedPlan plan, String featureText) {
+        String lower = featureText.toLowerCase();
+
+        // Parse audio quality
+        if (lower.contains("lossless") || lower.contains("24-bit")) {
+            plan.videoQuality = "Lossless (24-bit/44.1kHz)";
+        } else if (lower.contains("very high") || lower.contains("320kbps")) {
+            plan.videoQuality = "Very High (~320kbps)";
+        } else if (lower.contains("high") || lower.contains("160kbps")) {
+            plan.videoQuality = "High (~160kbps)";
+        }
+
+        // Parse number of accounts
+        Matcher accountMatcher = ACCOUNTS.matcher(featureText);
+        if (accountMatcher.find()) {
+            plan.maxScreens = Integer.parseInt(accountMatcher.group(1));
+        }
+
+        // Parse specific features
+        if (lower.contains("download") && lower.contains("offline")) {
+            plan.downloadDevices = 1; // Offline download enabled
+        }
+
+        if (lower.contains("ai dj") || lower.contains("ai playlist")) {
+            plan.extraFeatures = (plan.extraFeatures != null ? plan.extraFeatures + ", " : "") + "AI Features";
+        }
+
+        if (lower.contains("dj software")) {
+            plan.extraFeatures = (plan.extraFeatures != null ? plan.extraFeatures + ", " : "") + "DJ Software Support";
+        }
+
+        if (lower.contains("mix your playlists")) {
+            plan.extraFeatures = (plan.extraFeatures != null ? plan.extraFeatures + ", " : "") + "Playlist Mixing";
+        }
+    }
+
+    // Fallback: Extract Spotify plans from page text
+    private List<ScrapedPlan> extractSpotifyPlansFromText(Document doc) {
+        List<ScrapedPlan> plans = new ArrayList<>();
+        String pageText = doc.text();
+
+        for (TextPlan textPlan : TEXT_PLANS) {
+            Matcher matcher = textPlan.pattern.matcher(pageText);
+
+            if (matcher.find()) {
+                String priceStr = matcher.group(1).replace(",", "");
+                Double price = Double.parseDouble(priceStr);
+
+                ScrapedPlan plan = new ScrapedPlan(textPlan.name);
+                plan.priceMonthly = price;
+                plan.videoQuality = textPlan.audioQuality;
+                plan.maxScreens = textPlan.accounts;
+                plan.hasAds = false;
+                plan.deviceTypes = "All Devices";
+
+                plans.add(plan);
+                logger.debug("Extracted from text: {} - ₹{}", textPlan.name, price);
+            }
+        }
+
+        return plans;
+    }
+}
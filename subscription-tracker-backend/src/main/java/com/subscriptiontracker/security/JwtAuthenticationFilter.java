@@ -24,6 +24,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    private static final String ALERT_STREAM_PATH = "/api/alerts/stream";
+
     @Autowired
     private JwtUtils jwtUtils;
 
@@ -37,8 +39,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         try {
-            // Get JWT from request header
+            // Get JWT from request header, or a stream token from the query for
+            // the alert stream, which browsers open without custom headers
             String jwt = parseJwt(request);
+            boolean fromQuery = false;
+            if (jwt == null && isAlertStream(request)) {
+                jwt = request.getParameter("token");
+                fromQuery = jwt != null;
+            }
+
+            // Stream tokens are only accepted in the stream's query, and only they are
+            if (jwt != null && fromQuery != jwtUtils.isStreamToken(jwt)) {
+                logger.warn("Rejected a {} token used {}", fromQuery ? "regular" : "stream",
+                        fromQuery ? "in the query" : "as a bearer token");
+                jwt = null;
+            }
 
             // Validate and process JWT
             if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
@@ -91,4 +106,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         return null;
     }
+
+    private boolean isAlertStream(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return "GET".equals(request.getMethod()) && ALERT_STREAM_PATH.equals(path);
+    }
 }
@@ -25,6 +25,9 @@ public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String ALERT_STREAM_PURPOSE = "alert-stream";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -44,13 +47,25 @@ public class JwtUtils {
         return createToken(claims, email);
     }
 
+    // Generate a short-lived token that only opens the alert stream. EventSource
+    // cannot send an Authorization header, so this one is passed in the URL
+    public String generateStreamToken(String email, long ttlMs) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(PURPOSE_CLAIM, ALERT_STREAM_PURPOSE);
+        return createToken(claims, email, ttlMs);
+    }
+
     // Create JWT token
     private String createToken(Map<String, Object> claims, String subject) {
+        return createToken(claims, subject, jwtExpiration);
+    }
+
+    private String createToken(Map<String, Object> claims, String subject, long expirationMs) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -96,6 +111,16 @@ public class JwtUtils {
         }
     }
 
+    // Check if this is an alert stream token
+    public boolean isStreamToken(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return ALERT_STREAM_PURPOSE.equals(claims.get(PURPOSE_CLAIM));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     // Check if token is expired
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
@@ -8,7 +8,6 @@ import com.subscriptiontracker.entity.User;
 import com.subscriptiontracker.entity.UserSubscription;
 import com.subscriptiontracker.exception.BadRequestException;
 import com.subscriptiontracker.repository.AdminRepository;
-import com.subscriptiontracker.repository.SubscriptionRepository;
 import com.subscriptiontracker.repository.UserRepository;
 import com.subscriptiontracker.repository.UserSubscriptionRepository;
 import com.subscriptiontracker.security.JwtUtils;
@@ -38,15 +37,15 @@ public class AdminService {
         @Autowired
         private UserSubscriptionRepository userSubscriptionRepository;
 
-        @Autowired
-        private SubscriptionRepository subscriptionRepository;
-
         @Autowired
         private PasswordEncoder passwordEncoder;
 
         @Autowired
         private JwtUtils jwtUtils;
 
+        @Autowired
+        private ScrapeLedgerService scrapeLedgerService;
+
         // Admin Login
         public Map<String, Object> adminLogin(String email, String password) {
                 Admin admin = adminRepository.findByEmail(email)
@@ -258,18 +257,23 @@ public class AdminService {
 
         // Data Health (Scraping status)
         private DataHealth getDataHealth() {
-                // Get total services
-                Long totalServices = subscriptionRepository.count();
+                // Read from the scrape ledger over its rolling window
+                ScrapeLedgerService.Health health = scrapeLedgerService.getHealth();
 
-                // For now, we'll return simulated data
-                // In production, you'd track scraping results
                 return DataHealth.builder()
-                                .lastScrapeTime(
-                                                LocalDateTime.now().minusHours(2).format(
-                                                                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                .scrapeSuccessRate(95.5)
-                                .totalScrapedServices(totalServices)
-                                .failedScrapes(0L)
+                                .lastScrapeTime(health.lastRunAt != null
+                                                ? health.lastRunAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                                                : "Never")
+                                .scrapeSuccessRate(health.successRate)
+                                .totalScrapedServices(health.servicesScraped)
+                                .failedScrapes(health.fallbackCount)
+                                .windowDays(health.windowDays)
+                                .runsInWindow(health.runs)
+                                .lastRunStatus(health.lastRunStatus)
+                                .fetchP50Ms(health.fetchP50Ms)
+                                .fetchP95Ms(health.fetchP95Ms)
+                                .parseP50Ms(health.parseP50Ms)
+                                .parseP95Ms(health.parseP95Ms)
                                 .build();
         }
 
@@ -1,20 +1,35 @@
 package com.subscriptiontracker.service;
 
 import com.subscriptiontracker.dto.AlertDTO;
+import com.subscriptiontracker.dto.AlertFeedDTO;
 import com.subscriptiontracker.entity.Alert;
+import com.subscriptiontracker.entity.RenewalReminder;
 import com.subscriptiontracker.entity.Subscription;
-import com.subscriptiontracker.entity.User;
-import com.subscriptiontracker.entity.UserSubscription;
+import com.subscriptiontracker.exception.BadRequestException;
 import com.subscriptiontracker.exception.ResourceNotFoundException;
 import com.subscriptiontracker.repository.AlertRepository;
+import com.subscriptiontracker.repository.AlertRepositoryCustom.DeletedAlerts;
+import com.subscriptiontracker.repository.AlertRepositoryCustom.NewAlert;
+import com.subscriptiontracker.repository.RenewalCandidate;
+import com.subscriptiontracker.repository.RenewalReminderRepository;
+import com.subscriptiontracker.repository.UserRepository;
 import com.subscriptiontracker.repository.UserSubscriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class AlertService {
@@ -25,31 +40,94 @@ public class AlertService {
     @Autowired
     private UserSubscriptionRepository userSubscriptionRepository;
 
+    @Autowired
+    private RenewalReminderRepository renewalReminderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     // Get all alerts for current user
     public List<AlertDTO> getUserAlerts() {
         Long userId = authService.getCurrentUserId();
-        return alertRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return alertRepository.findAlertDTOsByUserId(userId);
     }
 
     // Get unread alerts
     public List<AlertDTO> getUnreadAlerts() {
         Long userId = authService.getCurrentUserId();
-        return alertRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return alertRepository.findUnreadAlertDTOsByUserId(userId);
     }
 
-    // Get unread alert count
-    public Long getUnreadAlertCount() {
+    // One page of the current user's alerts, newest first, after an optional cursor
+    public AlertFeedDTO getAlertFeed(String cursor, String alertType, Boolean isRead, int limit) {
         Long userId = authService.getCurrentUserId();
-        return alertRepository.countByUserIdAndIsReadFalse(userId);
+        int pageSize = Math.max(1, Math.min(MAX_FEED_PAGE_SIZE, limit));
+        String type = alertType != null && !alertType.isBlank() ? alertType.trim().toUpperCase() : null;
+        // One extra row tells whether another page follows
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<AlertDTO> alerts;
+        if (cursor == null || cursor.isBlank()) {
+            alerts = alertRepository.findFeed(userId, type, isRead, page);
+        } else {
+            AlertDTO after = decodeCursor(cursor);
+            alerts = alertRepository.findFeedBefore(userId, type, isRead, after.getCreatedAt(), after.getId(), page);
+        }
+
+        boolean hasMore = alerts.size() > pageSize;
+        if (hasMore) {
+            alerts = new ArrayList<>(alerts.subList(0, pageSize));
+        }
+        return AlertFeedDTO.builder()
+                .alerts(alerts)
+                .nextCursor(hasMore ? encodeCursor(alerts.get(alerts.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Get unread alert count from the user's counter; the alerts table is only
+    // read the first time, to initialise it
+    @Transactional
+    public Long getUnreadAlertCount() {
+        return unreadAlertCount(authService.getCurrentUserId());
+    }
+
+    // Unread alert count for a given user, as above
+    @Transactional
+    public Long getUnreadAlertCount(Long userId) {
+        return unreadAlertCount(userId);
+    }
+
+    // A user's newest alerts after afterId, at most limit of them, oldest first
+    public List<AlertDTO> getAlertsAfter(Long userId, long afterId, int limit) {
+        List<AlertDTO> alerts = new ArrayList<>();
+        for (Alert alert : alertRepository.findLatestForStream(userId, afterId, PageRequest.of(0, Math.max(1, limit)))) {
+            alerts.add(convertToDTO(alert));
+        }
+        Collections.reverse(alerts);
+        return alerts;
+    }
+
+    // Callers must be transactional: the row lock has to be held across the
+    // initialisation so a concurrent increment is not lost on the null counter
+    private Long unreadAlertCount(Long userId) {
+        Long count = userRepository.findUnreadAlertCount(userId);
+        if (count == null) {
+            count = userRepository.lockUnreadAlertCount(userId);
+        }
+        if (count == null) {
+            userRepository.initUnreadAlertCount(userId);
+            count = userRepository.findUnreadAlertCount(userId);
+        }
+        return count != null ? count : 0L;
     }
 
     // Mark alert as read
@@ -63,61 +141,108 @@ public class AlertService {
             throw new ResourceNotFoundException("Alert", "id", alertId);
         }
 
-        alert.setIsRead(true);
-        Alert saved = alertRepository.save(alert);
-        return convertToDTO(saved);
+        unreadCountReduced(userId, alertRepository.markReadIfUnread(alertId));
+        // Set on the DTO only: dirty-checking the entity would issue a second UPDATE
+        AlertDTO dto = convertToDTO(alert);
+        dto.setIsRead(true);
+        return dto;
     }
 
-    // Mark all alerts as read
+    // Mark all alerts as read in one UPDATE
     @Transactional
-    public void markAllAsRead() {
+    public int markAllAsRead() {
         Long userId = authService.getCurrentUserId();
-        List<Alert> unreadAlerts = alertRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
-        unreadAlerts.forEach(alert -> alert.setIsRead(true));
-        alertRepository.saveAll(unreadAlerts);
+        int marked = alertRepository.markAllReadByUserId(userId);
+        unreadCountReduced(userId, marked);
+        return marked;
     }
 
-    // Create renewal reminder alert
+    // Mark alerts created before a time as read in one UPDATE
     @Transactional
-    public Alert createRenewalReminder(UserSubscription userSubscription) {
-        User user = userSubscription.getUser();
-        Subscription subscription = userSubscription.getSubscription();
-
-        Alert alert = Alert.builder()
-                .user(user)
-                .subscription(subscription)
-                .alertType("RENEWAL_REMINDER")
-                .title("Subscription Renewal Reminder")
-                .message(String.format("Your %s subscription is renewing on %s. " +
-                                "The renewal amount will be ₹%.2f.",
-                        subscription.getName(),
-                        userSubscription.getRenewalDate(),
-                        userSubscription.getCustomPrice() != null
-                                ? userSubscription.getCustomPrice()
-                                : subscription.getPriceMonthly()))
-                .build();
+    public int markReadBefore(LocalDateTime before) {
+        Long userId = authService.getCurrentUserId();
+        int marked = alertRepository.markReadByUserIdBefore(userId, before);
+        unreadCountReduced(userId, marked);
+        return marked;
+    }
+
+    // Delete all alerts of one type in one DELETE
+    @Transactional
+    public int deleteByType(String alertType) {
+        if (alertType == null || alertType.isBlank()) {
+            throw new BadRequestException("Alert type is required");
+        }
+        Long userId = authService.getCurrentUserId();
+        DeletedAlerts deleted = alertRepository.deleteByUserIdAndAlertType(userId, alertType.trim().toUpperCase());
+        unreadCountReduced(userId, deleted.unread);
+        return deleted.deleted;
+    }
 
-        return alertRepository.save(alert);
+    // Delete read alerts older than a number of days in one DELETE
+    @Transactional
+    public int deleteReadOlderThan(int days) {
+        if (days < 0) {
+            throw new BadRequestException("Days must not be negative");
+        }
+        Long userId = authService.getCurrentUserId();
+        return alertRepository.deleteReadByUserIdBefore(userId, LocalDateTime.now().minusDays(days));
     }
 
-    // Create price drop alert
+    private void unreadCountReduced(Long userId, int count) {
+        if (count > 0) {
+            userRepository.adjustUnreadAlertCount(userId, -count);
+            eventPublisher.publishEvent(new AlertsChangedEvent(Set.of(userId), false));
+        }
+    }
+
+    // Create renewal reminder alerts for a chunk of renewals in one batched insert.
+    // Renewals already reminded for the same renewal date are skipped.
     @Transactional
-    public Alert createPriceDropAlert(User user, Subscription subscription,
-                                      Double oldPrice, Double newPrice) {
+    public int createRenewalReminders(List<RenewalCandidate> renewals) {
+        Set<Long> claimed = renewalReminderRepository.claimAll(RenewalReminder.Kind.RENEWAL_REMINDER, renewals);
+        List<NewAlert> alerts = new ArrayList<>(claimed.size());
+        for (RenewalCandidate renewal : renewals) {
+            if (!claimed.contains(renewal.userSubscriptionId)) {
+                continue;
+            }
+            alerts.add(new NewAlert(renewal.userId, renewal.subscriptionId,
+                    "RENEWAL_REMINDER",
+                    "Subscription Renewal Reminder",
+                    String.format("Your %s subscription is renewing on %s. " +
+                                    "The renewal amount will be ₹%.2f.",
+                            renewal.subscriptionName,
+                            renewal.renewalDate,
+                            renewal.getRenewalAmount())));
+        }
+        return insertAndPublish(alerts);
+    }
+
+    // Create price drop alerts for the matching watchers in one batched insert
+    @Transactional
+    public int createPriceDropAlerts(List<Long> userIds, Subscription subscription,
+                                     Double oldPrice, Double newPrice) {
         Double savings = oldPrice - newPrice;
         Double percentageDrop = (savings / oldPrice) * 100;
+        String message = String.format("Great news! %s price dropped from ₹%.2f to ₹%.2f. " +
+                        "You can save ₹%.2f (%.1f%% off)!",
+                subscription.getName(), oldPrice, newPrice, savings, percentageDrop);
 
-        Alert alert = Alert.builder()
-                .user(user)
-                .subscription(subscription)
-                .alertType("PRICE_DROP")
-                .title("Price Drop Alert!")
-                .message(String.format("Great news! %s price dropped from ₹%.2f to ₹%.2f. " +
-                                "You can save ₹%.2f (%.1f%% off)!",
-                        subscription.getName(), oldPrice, newPrice, savings, percentageDrop))
-                .build();
+        List<NewAlert> alerts = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            alerts.add(new NewAlert(userId, subscription.getId(), "PRICE_DROP", "Price Drop Alert!", message));
+        }
+        return insertAndPublish(alerts);
+    }
 
-        return alertRepository.save(alert);
+    // Insert alerts and have them streamed to connected users after commit
+    private int insertAndPublish(List<NewAlert> alerts) {
+        int inserted = alertRepository.insertAll(alerts);
+        if (inserted > 0) {
+            Set<Long> userIds = new HashSet<>();
+            alerts.forEach(alert -> userIds.add(alert.userId));
+            eventPublisher.publishEvent(new AlertsChangedEvent(userIds, true));
+        }
+        return inserted;
     }
 
     // Delete alert
@@ -131,11 +256,35 @@ public class AlertService {
             throw new ResourceNotFoundException("Alert", "id", alertId);
         }
 
-        alertRepository.delete(alert);
+        int unread = alertRepository.deleteByIdAndIsRead(alertId, false);
+        if (unread > 0) {
+            unreadCountReduced(userId, unread);
+        } else {
+            alertRepository.deleteByIdAndIsRead(alertId, true);
+        }
+    }
+
+    // Opaque feed cursor: the last alert's created_at and id
+    private static String encodeCursor(AlertDTO last) {
+        String position = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static AlertDTO decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return AlertDTO.builder()
+                    .createdAt(LocalDateTime.parse(position.substring(0, separator)))
+                    .id(Long.parseLong(position.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid alert cursor");
+        }
     }
 
     // Convert Entity to DTO
-    private AlertDTO convertToDTO(Alert alert) {
+    static AlertDTO convertToDTO(Alert alert) {
         return AlertDTO.builder()
                 .id(alert.getId())
                 .alertType(alert.getAlertType())
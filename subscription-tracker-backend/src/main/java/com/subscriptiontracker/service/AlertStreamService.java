@@ -0,0 +1,324 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.dto.AlertDTO;
+import com.subscriptiontracker.entity.Alert;
+import com.subscriptiontracker.repository.AlertRepository;
+import com.subscriptiontracker.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes new alerts and unread-count changes to connected users over
+ * Server-Sent Events.
+ *
+ * New alerts are found by tailing the alerts table by created_at every
+ * app.alerts.stream.tail-ms, and at once when this node commits alerts for
+ * a connected user, so alerts created on any node reach connections on
+ * every node. Each tail re-reads a short overlap window, for alerts that
+ * committed after later ones or were stamped by a node whose clock runs
+ * behind, and skips the ids it already pushed. The alert id is the event
+ * id, so a client reconnecting with Last-Event-ID is replayed what it
+ * missed; a connection never gets the same alert from both replay and tail.
+ *
+ * Each connection has a bounded buffer drained on a small sender pool, so
+ * a slow client never holds up the tail. A client that falls buffer-size
+ * events behind is disconnected and catches up through replay when it
+ * reconnects. A keepalive comment every heartbeat-ms keeps idle
+ * connections open through proxies and finds dead ones. Unread-count
+ * changes from reading or deleting alerts reach this node's connections
+ * only.
+ */
+@Service
+public class AlertStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertStreamService.class);
+
+    private static final long TAIL_OVERLAP_SECONDS = 30;
+    private static final int TAIL_PAGE_SIZE = 500;
+    private static final int COUNT_BATCH_SIZE = 1000;
+    private static final long RECONNECT_MS = 5000;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Value("${app.alerts.stream.tail-ms:5000}")
+    private long tailMs;
+
+    @Value("${app.alerts.stream.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${app.alerts.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.alerts.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.alerts.stream.replay-limit:100}")
+    private int replayLimit;
+
+    @Value("${app.alerts.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    // Tail state, only touched on the scheduler thread
+    private final Map<Long, LocalDateTime> pushed = new HashMap<>();
+    private LocalDateTime tailFrom;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+
+    @PostConstruct
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "alert-stream-tail");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "alert-stream-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tail, tailMs, tailMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        allConnections().forEach(Connection::close);
+        senders.shutdownNow();
+    }
+
+    /**
+     * Open a stream for the current user. Alerts after lastEventId, up to the
+     * newest replay-limit of them, are sent first, then the current unread
+     * count.
+     */
+    public SseEmitter connect(Long lastEventId) {
+        Long userId = authService.getCurrentUserId();
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> remove(connection));
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+
+        connection.offer(SseEmitter.event().reconnectTime(RECONNECT_MS).comment("connected"));
+        if (lastEventId != null) {
+            // The tail may already have sent some of these to the new connection
+            alertService.getAlertsAfter(userId, lastEventId, replayLimit).forEach(connection::offerAlert);
+        }
+        connection.offer(unreadCountEvent(alertService.getUnreadAlertCount(userId)));
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertsChanged(AlertsChangedEvent event) {
+        if (event.userIds.stream().noneMatch(connections::containsKey)) {
+            return;
+        }
+        if (event.created) {
+            scheduler.execute(this::tail);
+        } else {
+            scheduler.execute(() -> pushUnreadCounts(event.userIds));
+        }
+    }
+
+    // Push alerts created since the last tail to their users' connections
+    private void tail() {
+        if (connections.isEmpty()) {
+            tailFrom = null; // Nobody to push to; missed alerts come from replay
+            pushed.clear();
+            return;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = (tailFrom != null ? tailFrom : startedAt).minusSeconds(TAIL_OVERLAP_SECONDS);
+            PageRequest page = PageRequest.of(0, TAIL_PAGE_SIZE);
+
+            Set<Long> notified = new HashSet<>();
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = alertRepository.findCreatedSinceForStream(since, afterId, page);
+                for (Object[] row : rows) {
+                    Long userId = (Long) row[0];
+                    Alert alert = (Alert) row[1];
+                    afterId = alert.getId();
+                    if (pushed.putIfAbsent(alert.getId(), alert.getCreatedAt()) != null) {
+                        continue;
+                    }
+                    Set<Connection> userConnections = connections.get(userId);
+                    if (userConnections != null) {
+                        AlertDTO dto = AlertService.convertToDTO(alert);
+                        userConnections.forEach(connection -> connection.offerAlert(dto));
+                        notified.add(userId);
+                    }
+                }
+            } while (rows.size() == page.getPageSize());
+
+            tailFrom = startedAt;
+            pushed.values().removeIf(createdAt -> createdAt.isBefore(since));
+            pushUnreadCounts(notified);
+        } catch (Exception e) {
+            logger.error("[ALERT STREAM] Tail failed, retrying at the next tick: {}", e.getMessage(), e);
+        }
+    }
+
+    private void pushUnreadCounts(Collection<Long> userIds) {
+        List<Long> connected = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (connections.containsKey(userId)) {
+                connected.add(userId);
+            }
+        }
+        for (int from = 0; from < connected.size(); from += COUNT_BATCH_SIZE) {
+            List<Long> batch = connected.subList(from, Math.min(connected.size(), from + COUNT_BATCH_SIZE));
+            for (Object[] row : userRepository.findUnreadAlertCounts(batch)) {
+                Set<Connection> userConnections = connections.get((Long) row[0]);
+                if (userConnections != null && row[1] != null) {
+                    userConnections.forEach(connection -> connection.offer(unreadCountEvent((Long) row[1])));
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        allConnections().forEach(connection -> connection.offer(SseEmitter.event().comment("keepalive")));
+    }
+
+    private List<Connection> allConnections() {
+        List<Connection> all = new ArrayList<>();
+        connections.values().forEach(all::addAll);
+        return all;
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (userId, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder alertEvent(AlertDTO alert) {
+        return SseEmitter.event()
+                .id(String.valueOf(alert.getId()))
+                .name("alert")
+                .data(alert);
+    }
+
+    private static SseEmitter.SseEventBuilder unreadCountEvent(Long count) {
+        return SseEmitter.event().name("unread-count").data(count != null ? count : 0L);
+    }
+
+    /**
+     * One client stream. Events are queued and sent by a single drain task at
+     * a time, so sends to one emitter never overlap.
+     */
+    private final class Connection {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Alerts queued on this connection by replay or the tail, so neither repeats the other
+        final Set<Long> sentAlertIds = ConcurrentHashMap.newKeySet();
+        volatile boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        }
+
+        void offerAlert(AlertDTO alert) {
+            if (sentAlertIds.add(alert.getId())) {
+                offer(alertEvent(alert));
+            }
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                logger.debug("[ALERT STREAM] Dropping slow connection for user {}", userId);
+                close(); // The client reconnects and is replayed what it missed
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                logger.debug("[ALERT STREAM] Error completing stream for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.subscriptiontracker.service;
+
+import java.util.Set;
+
+/**
+ * Published by AlertService when users' alerts change. AlertStreamService
+ * pushes the change to their connections once the transaction commits.
+ */
+public class AlertsChangedEvent {
+
+    public final Set<Long> userIds;
+    public final boolean created; // New alerts; otherwise only the unread count changed
+
+    public AlertsChangedEvent(Set<Long> userIds, boolean created) {
+        this.userIds = userIds;
+        this.created = created;
+    }
+}
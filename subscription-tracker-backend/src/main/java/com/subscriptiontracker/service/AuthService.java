@@ -12,6 +12,7 @@ import com.subscriptiontracker.security.UserDetailsImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -38,6 +39,9 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Value("${app.alerts.stream.token-ttl-ms:60000}")
+    private long streamTokenTtlMs;
+
     @Autowired(required = false) // Make email service optional
     private EmailService emailService;
 
@@ -173,6 +177,15 @@ public class AuthService {
         return userDetails.getId();
     }
 
+    /**
+     * Issue a short-lived token that opens the current user's alert stream
+     */
+    public String createAlertStreamToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return jwtUtils.generateStreamToken(userDetails.getUsername(), streamTokenTtlMs);
+    }
+
     /**
      * Send password reset OTP to user's email
      */
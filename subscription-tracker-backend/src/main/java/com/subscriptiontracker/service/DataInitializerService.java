@@ -1,16 +1,25 @@
 package com.subscriptiontracker.service;
 
+import com.subscriptiontracker.config.ScraperConfig;
 import com.subscriptiontracker.entity.Subscription;
+import com.subscriptiontracker.repository.ScrapeRunEntryRepository;
 import com.subscriptiontracker.repository.SubscriptionPlanRepository;
 import com.subscriptiontracker.repository.SubscriptionRepository;
+import com.subscriptiontracker.scheduler.PriceScrapingScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
 public class DataInitializerService implements CommandLineRunner {
@@ -23,9 +32,18 @@ public class DataInitializerService implements CommandLineRunner {
         @Autowired
         private SubscriptionPlanRepository subscriptionPlanRepository;
 
+        @Autowired
+        private ScrapeRunEntryRepository scrapeRunEntryRepository;
+
         @Autowired
         private PriceScraperService priceScraperService;
 
+        @Autowired
+        private PriceScrapingScheduler priceScrapingScheduler;
+
+        @Autowired
+        private ScraperConfig scraperConfig;
+
         @Autowired
         private AdminService adminService;
 
@@ -33,8 +51,9 @@ public class DataInitializerService implements CommandLineRunner {
         public void run(String... args) throws Exception {
                 cleanupRemovedSubscriptions();
                 initializeSubscriptions();
-                checkAndTriggerScraping();
                 initializeAdmin(); // Initialize default admin
+                // Prices are refreshed by warmStart() once the app is up, not here,
+                // so startup and readiness never wait on vendor sites
         }
 
         /**
@@ -61,21 +80,64 @@ public class DataInitializerService implements CommandLineRunner {
                 }
         }
 
-        private void checkAndTriggerScraping() {
-                long subscriptionCount = subscriptionRepository.count();
-
-                if (subscriptionCount > 0) {
-                        logger.info("Triggering price scraping for {} subscriptions (with fallback support)...",
-                                        subscriptionCount);
-                        try {
-                                priceScraperService.scrapeAllPrices();
-                                logger.info("Price scraping completed. Total plans: {}",
-                                                subscriptionPlanRepository.count());
-                        } catch (Exception e) {
-                                logger.warn("Price scraping failed: {}. Prices will be updated on next scheduled run.",
-                                                e.getMessage());
+        /**
+         * Serve the last persisted plans straight away and refresh them in the
+         * background, only if they are older than
+         * scraper.warm-start.max-age-hours. Runs after the application is ready,
+         * on the async executor, so readiness does not depend on the scrape.
+         */
+        @Async
+        @EventListener(ApplicationReadyEvent.class)
+        public void warmStart() {
+                try {
+                        long subscriptionCount = subscriptionRepository.count();
+                        if (subscriptionCount == 0) {
+                                return;
+                        }
+
+                        LocalDateTime cutoff = LocalDateTime.now().minusHours(scraperConfig.getWarmStartMaxAgeHours());
+                        long staleCount = countStale(cutoff);
+                        if (staleCount == 0 && subscriptionPlanRepository.count() > 0) {
+                                logger.info("Serving persisted plans for {} subscriptions; all scraped within {}h, "
+                                                + "skipping startup scrape", subscriptionCount,
+                                                scraperConfig.getWarmStartMaxAgeHours());
+                                return;
+                        }
+
+                        logger.info("{} of {} subscriptions have prices older than {}h. Scraping in the background...",
+                                        staleCount, subscriptionCount, scraperConfig.getWarmStartMaxAgeHours());
+                        priceScrapingScheduler.triggerWarmStartScraping();
+                        logger.info("Warm start scraping finished. Total plans: {}", subscriptionPlanRepository.count());
+                } catch (Exception e) {
+                        logger.warn("Warm start scraping failed: {}. Prices will be updated on next scheduled run.",
+                                        e.getMessage());
+                }
+        }
+
+        /**
+         * Subscriptions with a pricing page not checked since the cutoff. An
+         * unchanged page is recorded in the scrape ledger without touching
+         * lastScrapedAt, so the later of the two counts, as in
+         * ScrapeCadenceService.
+         */
+        private long countStale(LocalDateTime cutoff) {
+                Set<String> checked = new HashSet<>();
+                for (Object[] row : scrapeRunEntryRepository.findLastCheckedSince(cutoff)) {
+                        checked.add((String) row[0]);
+                }
+
+                long stale = 0;
+                for (Subscription subscription : subscriptionRepository.findAll()) {
+                        if (!priceScraperService.hasPricingUrl(subscription.getName())
+                                        || checked.contains(subscription.getName())) {
+                                continue;
+                        }
+                        LocalDateTime scrapedAt = subscription.getLastScrapedAt();
+                        if (scrapedAt == null || scrapedAt.isBefore(cutoff)) {
+                                stale++;
                         }
                 }
+                return stale;
         }
 
         private void initializeSubscriptions() {
@@ -206,16 +268,7 @@ public class DataInitializerService implements CommandLineRunner {
                                                 .build());
 
                 subscriptionRepository.saveAll(subscriptions);
-                logger.info("Initialized {} subscriptions.", subscriptions.size());
-
-                // Automatically scrape prices for newly added subscriptions
-                logger.info("Triggering initial price scraping...");
-                try {
-                        priceScraperService.scrapeAllPrices();
-                        logger.info("Initial price scraping completed.");
-                } catch (Exception e) {
-                        logger.warn("Initial price scraping failed: {}. Prices will be updated on next scheduled run.",
-                                        e.getMessage());
-                }
+                logger.info("Initialized {} subscriptions. Their prices are scraped by the warm start.",
+                                subscriptions.size());
         }
 }
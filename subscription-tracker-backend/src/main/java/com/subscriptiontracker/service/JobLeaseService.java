@@ -0,0 +1,232 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.repository.JobLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs scheduled jobs under a database lease so that, with several backend
+ * replicas, each job runs on exactly one node.
+ *
+ * A holder renews its lease every third of app.scheduling.lease.ttl-ms; if
+ * the node dies the lease expires and another node may take the job over.
+ * A lease also remembers when its job last completed, so a node whose timer
+ * fires a little late does not run a job another node already finished for
+ * the same run slot.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Value("${app.scheduling.lease.ttl-ms:300000}")
+    private long leaseTtlMs;
+
+    @Value("${app.scheduling.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+    private ScheduledExecutorService heartbeats;
+
+    // Set by the heartbeat when the lease of the job running on this thread is lost
+    private final ThreadLocal<AtomicBoolean> currentLeaseLost = new ThreadLocal<>();
+
+    @PostConstruct
+    void init() {
+        nodeId = configuredNodeId != null && !configuredNodeId.isBlank() ? configuredNodeId : defaultNodeId();
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Job leases held as node {}", nodeId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Run a job if this node can take its lease.
+     *
+     * @param runSlot start of the schedule slot being run; the job is skipped
+     *                if it already completed at or after this time
+     * @return true if the job ran here, false if another node holds it or
+     *         already ran it. An exception from the job is rethrown once the
+     *         lease has been released.
+     */
+    public boolean runExclusive(String leaseName, LocalDateTime runSlot, Runnable job) {
+        return runExclusive(leaseName, null, runSlot, job);
+    }
+
+    /**
+     * Run a job if this node can take its lease, recording which kind of run
+     * it is so that a takeover can resume the same kind.
+     *
+     * @param runKind trigger of this run, e.g. "DAILY" or "ADAPTIVE"
+     * @see #runExclusive(String, LocalDateTime, Runnable)
+     */
+    public boolean runExclusive(String leaseName, String runKind, LocalDateTime runSlot, Runnable job) {
+        if (!tryAcquire(leaseName, runSlot, false, runKind)) {
+            logger.info("[LEASE] {} is held or already done by another node, skipping", leaseName);
+            return false;
+        }
+        run(leaseName, job);
+        return true;
+    }
+
+    /**
+     * Resume a job whose holder died mid-run: its lease expired without being
+     * released, and it has not completed since runSlot. Jobs that failed and
+     * released their lease are left for their next scheduled run.
+     *
+     * @return true if the job was taken over and ran here
+     */
+    public boolean takeOverExpired(String leaseName, LocalDateTime runSlot, Runnable job) {
+        return takeOverExpired(leaseName, runSlot, runKind -> job.run());
+    }
+
+    /**
+     * As {@link #takeOverExpired(String, LocalDateTime, Runnable)}, handing
+     * the job the run kind the dead holder recorded (null if none).
+     */
+    public boolean takeOverExpired(String leaseName, LocalDateTime runSlot, Consumer<String> job) {
+        if (!jobLeaseRepository.existsById(leaseName) || !tryAcquire(leaseName, runSlot, true, null)) {
+            return false;
+        }
+        String runKind = jobLeaseRepository.findRunKind(leaseName);
+        logger.warn("[LEASE] Took over expired lease {} ({} run)", leaseName, runKind);
+        run(leaseName, () -> job.accept(runKind));
+        return true;
+    }
+
+    /**
+     * Check that turns true once the lease the calling thread's job runs
+     * under has been taken by another node. Long jobs call this once, on the
+     * job's thread, and poll the result between chunks to stop early: the new
+     * holder runs the job again. Outside a leased job it is always false.
+     */
+    public BooleanSupplier currentLeaseLost() {
+        AtomicBoolean lost = currentLeaseLost.get();
+        return lost != null ? lost::get : () -> false;
+    }
+
+    private void run(String leaseName, Runnable job) {
+        AtomicBoolean lost = new AtomicBoolean();
+        AtomicBoolean outer = currentLeaseLost.get();
+        currentLeaseLost.set(lost);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> renew(leaseName, lost),
+                leaseTtlMs / 3, leaseTtlMs / 3, TimeUnit.MILLISECONDS);
+        boolean completed = false;
+        try {
+            job.run();
+            completed = true;
+        } finally {
+            heartbeat.cancel(false);
+            currentLeaseLost.set(outer);
+            if (lost.get()) {
+                // The lease is another node's now; completing it would make that node skip its run
+                logger.warn("[LEASE] {} was lost mid-run, leaving it to its new holder", leaseName);
+            } else if (completed) {
+                jobLeaseRepository.complete(leaseName, nodeId, LocalDateTime.now());
+            } else {
+                jobLeaseRepository.release(leaseName, nodeId);
+            }
+        }
+    }
+
+    /**
+     * Split a job into shards and run every shard this node can claim. Nodes
+     * calling this together each work through the shards in turn, so the
+     * shards are spread over however many replicas are up.
+     *
+     * @param takeOver only run shards abandoned by a dead node, as in takeOverExpired
+     *
+     * @return number of shards run on this node
+     */
+    public int runShards(String leaseName, int shards, LocalDateTime runSlot, boolean takeOver,
+            IntConsumer shardJob) {
+        int claimed = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            int current = shard;
+            String shardLease = leaseName + ":shard-" + shard;
+            Runnable job = () -> shardJob.accept(current);
+            try {
+                if (takeOver ? takeOverExpired(shardLease, runSlot, job) : runExclusive(shardLease, runSlot, job)) {
+                    claimed++;
+                }
+            } catch (RuntimeException e) {
+                // Left released, not completed; the other shards still run
+                claimed++;
+                logger.error("[LEASE] {} shard {} failed: {}", leaseName, shard, e.getMessage(), e);
+            }
+        }
+        return claimed;
+    }
+
+    private boolean tryAcquire(String leaseName, LocalDateTime runSlot, boolean takeOver, String runKind) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusNanos(leaseTtlMs * 1_000_000);
+        boolean acquired;
+        if (takeOver) {
+            acquired = jobLeaseRepository.tryTakeOver(leaseName, nodeId, now, expiresAt, runSlot) == 1;
+        } else {
+            jobLeaseRepository.insertIfAbsent(leaseName);
+            acquired = jobLeaseRepository.tryAcquire(leaseName, nodeId, now, expiresAt, runSlot, runKind) == 1;
+        }
+        if (acquired) {
+            logger.info("[LEASE] Acquired {} for {}ms", leaseName, leaseTtlMs);
+        }
+        return acquired;
+    }
+
+    private void renew(String leaseName, AtomicBoolean lost) {
+        if (lost.get()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (jobLeaseRepository.heartbeat(leaseName, nodeId, now, now.plusNanos(leaseTtlMs * 1_000_000)) == 0) {
+                lost.set(true);
+                logger.warn("[LEASE] Lost {} - another node may have taken it over", leaseName);
+            }
+        } catch (Exception e) {
+            logger.error("[LEASE] Heartbeat for {} failed: {}", leaseName, e.getMessage());
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
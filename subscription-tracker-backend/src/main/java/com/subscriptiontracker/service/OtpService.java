@@ -6,6 +6,7 @@ import com.subscriptiontracker.entity.Otp;
 import com.subscriptiontracker.exception.BadRequestException;
 import com.subscriptiontracker.repository.OtpRepository;
 import com.subscriptiontracker.repository.UserRepository;
+import com.subscriptiontracker.scheduler.SchedulerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +34,9 @@ public class OtpService {
     @Autowired(required = false)
     private EmailService emailService;
 
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
     private final SecureRandom secureRandom = new SecureRandom();
 
     /**
@@ -222,8 +226,9 @@ public class OtpService {
     @Scheduled(fixedRate = 3600000, initialDelay = 300000) // Every hour, 5 min startup delay
     @Transactional
     public void cleanupExpiredOtps() {
-        otpRepository.deleteExpiredOtps(LocalDateTime.now());
-        logger.debug("Cleaned up expired OTPs");
+        int deleted = schedulerMetrics.time("otp-cleanup",
+                () -> otpRepository.deleteExpiredOtps(LocalDateTime.now()));
+        logger.debug("Cleaned up {} expired OTPs", deleted);
     }
 
     /**
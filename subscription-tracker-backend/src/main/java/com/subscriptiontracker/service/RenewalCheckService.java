@@ -0,0 +1,219 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.entity.JobCheckpoint;
+import com.subscriptiontracker.repository.JobCheckpointRepository;
+import com.subscriptiontracker.repository.RenewalCandidate;
+import com.subscriptiontracker.repository.UserSubscriptionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Creates renewal reminders for the renewals due in the next 7 days.
+ *
+ * Users are split into app.scheduling.renewal-partitions partitions by user
+ * id modulo the partition count, and the partitions are worked in parallel
+ * on app.scheduling.renewal-workers threads (keep this below the connection
+ * pool size). Each partition walks its renewals by id, renewal-chunk-size at
+ * a time; a chunk's reminders and the partition's checkpoint commit
+ * together. A run taken over after a crash therefore skips finished
+ * partitions and continues the others from their last committed id.
+ *
+ * Reminders go through the reminder ledger, so a chunk redone after a
+ * failure does not alert twice.
+ */
+@Service
+public class RenewalCheckService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenewalCheckService.class);
+
+    private static final String JOB_NAME = "renewal-check";
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${app.scheduling.timezone:Asia/Kolkata}")
+    private String schedulingTimezone;
+
+    @Value("${app.scheduling.renewal-chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.scheduling.renewal-partitions:8}")
+    private int partitions;
+
+    @Value("${app.scheduling.renewal-workers:4}")
+    private int workers;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "renewal-check-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run every partition of the renewal check for a run slot, resuming any
+     * partition with a checkpoint from the same slot.
+     *
+     * @return number of reminders created
+     * @throws IllegalStateException if any partition failed; the others
+     *                               still ran and kept their progress
+     */
+    public int createReminders(LocalDateTime runSlot) {
+        LocalDateTime slot = runSlot.truncatedTo(ChronoUnit.SECONDS);
+        LocalDate today = LocalDate.now(ZoneId.of(schedulingTimezone));
+        int partitionCount = Math.max(1, partitions);
+        logger.info("[RENEWALS] Starting renewal check for slot {} over {} partitions on {} workers",
+                slot, partitionCount, Math.max(1, workers));
+
+        // Captured here: partitions run on the worker pool, not the lease holder's thread
+        BooleanSupplier leaseLost = jobLeaseService.currentLeaseLost();
+        List<Future<PartitionResult>> futures = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            int current = partition;
+            futures.add(executor.submit(() -> runPartition(slot, today, partitionCount, current, leaseLost)));
+        }
+
+        int upcoming = 0;
+        int created = 0;
+        int resumed = 0;
+        int failed = 0;
+        for (int partition = 0; partition < partitionCount; partition++) {
+            try {
+                PartitionResult result = futures.get(partition).get();
+                upcoming += result.upcoming;
+                created += result.created;
+                resumed += result.resumed ? 1 : 0;
+            } catch (ExecutionException e) {
+                failed++;
+                logger.error("[RENEWALS] Partition {} failed, it resumes from its checkpoint on takeover: {}",
+                        partition, e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Renewal check interrupted", e);
+            }
+        }
+
+        logger.info("[RENEWALS] Renewal check COMPLETED. Found {} upcoming, created {} reminders "
+                + "({} partitions resumed, {} failed)", upcoming, created, resumed, failed);
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + partitionCount + " renewal check partitions failed");
+        }
+        return created;
+    }
+
+    private PartitionResult runPartition(LocalDateTime slot, LocalDate today, int partitionCount, int partition,
+            BooleanSupplier leaseLost) {
+        String name = JOB_NAME + ":partition-" + partition;
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(name).orElse(null);
+
+        boolean resumed = false;
+        if (checkpoint == null || !slot.equals(checkpoint.getRunSlot())) {
+            checkpoint = JobCheckpoint.builder().name(name).runSlot(slot).lastId(0L).processed(0).build();
+        } else if (checkpoint.getCompletedAt() != null) {
+            return new PartitionResult(0, 0, false); // Finished before the takeover
+        } else {
+            resumed = true;
+            logger.info("[RENEWALS] Resuming partition {} after user subscription {}",
+                    partition, checkpoint.getLastId());
+        }
+
+        LocalDate nextWeek = today.plusDays(7);
+        PageRequest chunk = PageRequest.of(0, Math.max(1, chunkSize));
+        int upcoming = 0;
+        int created = 0;
+        List<RenewalCandidate> renewals;
+        do {
+            if (leaseLost.getAsBoolean()) {
+                // The new holder resumes this partition from its checkpoint
+                logger.warn("[RENEWALS] Lease lost, stopping partition {} after user subscription {}",
+                        partition, checkpoint.getLastId());
+                return new PartitionResult(upcoming, created, resumed);
+            }
+            renewals = userSubscriptionRepository.findRenewalCandidatesInPartition(today, nextWeek,
+                    partitionCount, partition, checkpoint.getLastId(), chunk);
+            if (renewals.isEmpty()) {
+                break;
+            }
+            upcoming += renewals.size();
+
+            // Only remind within each user's chosen lead time
+            List<RenewalCandidate> due = new ArrayList<>(renewals.size());
+            for (RenewalCandidate renewal : renewals) {
+                long daysUntilRenewal = ChronoUnit.DAYS.between(today, renewal.renewalDate);
+                if (renewal.reminderDaysBefore != null && daysUntilRenewal <= renewal.reminderDaysBefore) {
+                    due.add(renewal);
+                }
+            }
+
+            JobCheckpoint progress = checkpoint;
+            progress.setLastId(renewals.get(renewals.size() - 1).userSubscriptionId);
+            progress.setProcessed(progress.getProcessed() + renewals.size());
+            progress.setUpdatedAt(LocalDateTime.now());
+            created += transactionTemplate.execute(status -> {
+                int inserted = alertService.createRenewalReminders(due);
+                jobCheckpointRepository.save(progress);
+                return inserted;
+            });
+        } while (renewals.size() == chunk.getPageSize());
+
+        checkpoint.setCompletedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+        jobCheckpointRepository.save(checkpoint);
+        return new PartitionResult(upcoming, created, resumed);
+    }
+
+    private static final class PartitionResult {
+        final int upcoming;
+        final int created;
+        final boolean resumed;
+
+        PartitionResult(int upcoming, int created, boolean resumed) {
+            this.upcoming = upcoming;
+            this.created = created;
+            this.resumed = resumed;
+        }
+    }
+}
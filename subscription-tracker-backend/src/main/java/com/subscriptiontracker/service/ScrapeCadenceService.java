@@ -0,0 +1,208 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import com.subscriptiontracker.entity.Subscription;
+import com.subscriptiontracker.repository.PriceHistoryRepository;
+import com.subscriptiontracker.repository.ScrapeRunEntryRepository;
+import com.subscriptiontracker.repository.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Decides which subscriptions are due for a scrape.
+ *
+ * Each subscription's price-change rate is estimated from its PriceHistory
+ * over scraper.cadence.lookback-days, treating changes as a Poisson process.
+ * Its re-scrape interval is the time within which a change has
+ * scraper.cadence.target-change-probability of happening, clamped between
+ * min-interval-hours and max-staleness-hours - volatile vendors are checked
+ * every few hours, stable ones once per max-staleness (a day by default,
+ * as with the daily run the cadence replaces).
+ *
+ * Subscriptions are kept in a priority queue of next-due times, measured
+ * from the last time they were checked (Subscription.lastScrapedAt or the
+ * scrape ledger, whichever is later). Due subscriptions are released
+ * earliest first within max-fetches-per-hour; a subscription past max
+ * staleness is released even if the budget is spent.
+ *
+ * Everything is read from the database on each call, so any node holding
+ * the scraping lease sees the same schedule. Each node also remembers when
+ * the last schedule it built next falls due, so idle ticks can be skipped
+ * without touching the database.
+ */
+@Service
+public class ScrapeCadenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeCadenceService.class);
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Autowired
+    private ScrapeRunEntryRepository scrapeRunEntryRepository;
+
+    @Autowired
+    private PriceScraperService priceScraperService;
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    // Earliest next-due time in the last schedule selectDue() built here; null before the first
+    private volatile LocalDateTime nextDueAt;
+
+    /**
+     * Every scrapeable subscription, ordered by next-due time.
+     */
+    @Transactional(readOnly = true)
+    public List<Cadence> getSchedule() {
+        PriorityQueue<Cadence> queue = buildQueue(LocalDateTime.now());
+        List<Cadence> schedule = new ArrayList<>(queue.size());
+        while (!queue.isEmpty()) {
+            schedule.add(queue.poll());
+        }
+        return schedule;
+    }
+
+    /**
+     * Cheap pre-check for an adaptive tick, without database access: false
+     * while the last schedule built on this node has nothing due yet. Another
+     * node may have scraped since, so selectDue() still decides what runs.
+     */
+    public boolean mayBeDue(LocalDateTime now) {
+        LocalDateTime next = nextDueAt;
+        return next == null || !next.isAfter(now);
+    }
+
+    /**
+     * Subscriptions to scrape now: those due, earliest first, up to what is
+     * left of the hourly fetch budget, plus any past max staleness.
+     */
+    @Transactional(readOnly = true)
+    public List<Cadence> selectDue() {
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<Cadence> queue = buildQueue(now);
+
+        long fetchedLastHour = scrapeRunEntryRepository.countByCreatedAtAfterAndFetchMsIsNotNull(now.minusHours(1));
+        long budget = Math.max(0, scraperConfig.getCadenceMaxFetchesPerHour() - fetchedLastHour);
+
+        List<Cadence> due = new ArrayList<>();
+        boolean deferred = false;
+        while (!queue.isEmpty() && !queue.peek().nextDueAt.isAfter(now)) {
+            Cadence next = queue.poll();
+            if (due.size() < budget || next.isStale(now)) {
+                due.add(next);
+            } else {
+                deferred = true;
+            }
+        }
+
+        // Subscriptions held back by the budget are retried on the next tick
+        if (deferred) {
+            nextDueAt = now;
+        } else if (!queue.isEmpty()) {
+            nextDueAt = queue.peek().nextDueAt;
+        } else {
+            nextDueAt = now.plusHours(Math.max(1, scraperConfig.getCadenceMinIntervalHours()));
+        }
+
+        if (!due.isEmpty()) {
+            logger.info("[CADENCE] {} subscriptions due ({} fetches in the last hour, budget {}/h)",
+                    due.size(), fetchedLastHour, scraperConfig.getCadenceMaxFetchesPerHour());
+        }
+        return due;
+    }
+
+    private PriorityQueue<Cadence> buildQueue(LocalDateTime now) {
+        int lookbackDays = Math.max(1, scraperConfig.getCadenceLookbackDays());
+        Duration maxStaleness = Duration.ofHours(scraperConfig.getCadenceMaxStalenessHours());
+
+        Map<Long, Long> changes = new HashMap<>();
+        for (Object[] row : priceHistoryRepository.countChangesBySubscriptionSince(now.minusDays(lookbackDays))) {
+            changes.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        // Only the last check within max staleness matters; anything older is due anyway
+        Map<String, LocalDateTime> lastChecked = new HashMap<>();
+        for (Object[] row : scrapeRunEntryRepository.findLastCheckedSince(now.minus(maxStaleness))) {
+            lastChecked.put((String) row[0], (LocalDateTime) row[1]);
+        }
+
+        PriorityQueue<Cadence> queue = new PriorityQueue<>(Comparator.comparing((Cadence c) -> c.nextDueAt));
+        for (Subscription subscription : subscriptionRepository.findAll()) {
+            if (!priceScraperService.hasPricingUrl(subscription.getName())) {
+                continue;
+            }
+            long changeCount = changes.getOrDefault(subscription.getId(), 0L);
+            LocalDateTime checkedAt = latest(subscription.getLastScrapedAt(), lastChecked.get(subscription.getName()));
+            queue.add(new Cadence(subscription.getId(), subscription.getName(), changeCount,
+                    interval(changeCount, lookbackDays), checkedAt, maxStaleness, now));
+        }
+        return queue;
+    }
+
+    /**
+     * Re-scrape interval for a subscription that changed changeCount times in
+     * lookbackDays. The rate estimate adds half a change so a subscription
+     * with no history is not treated as never changing.
+     */
+    Duration interval(long changeCount, int lookbackDays) {
+        double changesPerHour = (changeCount + 0.5) / (lookbackDays * 24.0);
+        double p = Math.min(0.99, Math.max(0.001, scraperConfig.getCadenceTargetChangeProbability()));
+        double hours = -Math.log(1 - p) / changesPerHour;
+
+        long minHours = Math.max(1, scraperConfig.getCadenceMinIntervalHours());
+        long maxHours = Math.max(minHours, scraperConfig.getCadenceMaxStalenessHours());
+        long minutes = Math.round(Math.min(maxHours, Math.max(minHours, hours)) * 60);
+        return Duration.ofMinutes(minutes);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * One subscription's learned interval and next-due time.
+     */
+    public static class Cadence {
+        public final Long subscriptionId;
+        public final String subscriptionName;
+        public final long changesInLookback;
+        public final Duration interval;
+        public final LocalDateTime lastCheckedAt; // Null if never scraped
+        public final LocalDateTime nextDueAt;
+        private final LocalDateTime staleAt;
+
+        Cadence(Long subscriptionId, String subscriptionName, long changesInLookback, Duration interval,
+                LocalDateTime lastCheckedAt, Duration maxStaleness, LocalDateTime now) {
+            this.subscriptionId = subscriptionId;
+            this.subscriptionName = subscriptionName;
+            this.changesInLookback = changesInLookback;
+            this.interval = interval;
+            this.lastCheckedAt = lastCheckedAt;
+            this.nextDueAt = lastCheckedAt != null ? lastCheckedAt.plus(interval) : now;
+            this.staleAt = lastCheckedAt != null ? lastCheckedAt.plus(maxStaleness) : now;
+        }
+
+        boolean isStale(LocalDateTime now) {
+            return !staleAt.isAfter(now);
+        }
+    }
+}
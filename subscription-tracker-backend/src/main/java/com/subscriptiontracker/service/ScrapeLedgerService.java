@@ -0,0 +1,223 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import com.subscriptiontracker.entity.ScrapeRun;
+import com.subscriptiontracker.entity.ScrapeRunEntry;
+import com.subscriptiontracker.repository.ScrapeRunEntryRepository;
+import com.subscriptiontracker.repository.ScrapeRunRepository;
+import com.subscriptiontracker.scraper.ScrapeErrorClass;
+import com.subscriptiontracker.scraper.ScrapeOutcome;
+import com.subscriptiontracker.scraper.ScrapeRunSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persisted record of price scraping runs, and the health figures the admin
+ * dashboard and /api/health/scheduler read from it.
+ *
+ * Writing to the ledger never fails a scrape: errors are logged and dropped.
+ */
+@Service
+public class ScrapeLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeLedgerService.class);
+
+    @Autowired
+    private ScrapeRunRepository scrapeRunRepository;
+
+    @Autowired
+    private ScrapeRunEntryRepository scrapeRunEntryRepository;
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Record a finished run with one entry per subscription.
+     */
+    public void recordRun(String trigger, LocalDateTime startedAt, ScrapeRunSummary summary,
+            List<ScrapeRunEntry> entries) {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ScrapeRun run = scrapeRunRepository.save(ScrapeRun.builder()
+                        .trigger(trigger)
+                        .startedAt(startedAt)
+                        .finishedAt(finishedAt)
+                        .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                        .status(ScrapeRun.Status.COMPLETED)
+                        .pagesRequested(summary.getPagesRequested())
+                        .scraped(summary.getScraped())
+                        .fallback(summary.getFallback())
+                        .skipped(summary.getSkipped())
+                        .requests(summary.getRequests())
+                        .bytesReceived(summary.getBytesReceived())
+                        .connectionsReused(summary.getConnectionsReused())
+                        .build());
+
+                for (ScrapeRunEntry entry : entries) {
+                    entry.setRun(run);
+                    entry.setCreatedAt(finishedAt);
+                }
+                scrapeRunEntryRepository.saveAll(entries);
+                pruneExpired();
+            });
+        } catch (Exception e) {
+            logger.error("Failed to record scrape run in the ledger: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Record a run that stopped with an exception before producing results.
+     */
+    public void recordFailedRun(String trigger, LocalDateTime startedAt, String error) {
+        try {
+            LocalDateTime finishedAt = LocalDateTime.now();
+            scrapeRunRepository.save(ScrapeRun.builder()
+                    .trigger(trigger)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                    .status(ScrapeRun.Status.FAILED)
+                    .error(truncate(error, 500))
+                    .build());
+        } catch (Exception e) {
+            logger.error("Failed to record failed scrape run in the ledger: {}", e.getMessage(), e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ScrapeRun getLastRun() {
+        return scrapeRunRepository.findFirstByOrderByStartedAtDesc().orElse(null);
+    }
+
+    /**
+     * Success rate, failure counts and fetch/parse percentiles over the last
+     * scraper.ledger.window-days days.
+     */
+    @Transactional(readOnly = true)
+    public Health getHealth() {
+        int windowDays = scraperConfig.getLedgerWindowDays();
+        LocalDateTime since = LocalDateTime.now().minusDays(windowDays);
+
+        ScrapeRun lastRun = getLastRun();
+        long runs = scrapeRunRepository.countByStartedAtAfter(since);
+        long failedRuns = scrapeRunRepository.countByStartedAtAfterAndStatus(since, ScrapeRun.Status.FAILED);
+        List<ScrapeRunEntry> entries = scrapeRunEntryRepository.findByCreatedAtAfter(since);
+
+        return Health.of(windowDays, lastRun, runs, failedRuns, entries);
+    }
+
+    private void pruneExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(scraperConfig.getLedgerRetentionDays());
+        int entries = scrapeRunEntryRepository.deleteForRunsStartedBefore(cutoff);
+        int runs = scrapeRunRepository.deleteStartedBefore(cutoff);
+        if (runs > 0) {
+            logger.info("Pruned {} scrape runs ({} entries) older than {}", runs, entries, cutoff);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending list, or null if it is empty.
+     */
+    static Double percentile(List<Double> sorted, double percent) {
+        if (sorted.isEmpty()) {
+            return null;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+        return sorted.get(Math.min(sorted.size(), Math.max(1, rank)) - 1);
+    }
+
+    /**
+     * Scrape health over a rolling window.
+     */
+    public static class Health {
+        public final int windowDays;
+        public final LocalDateTime lastRunAt;     // Null if nothing has run yet
+        public final String lastRunStatus;
+        public final long runs;
+        public final long failedRuns;
+        public final long entries;
+        public final long fallbackCount;
+        public final double successRate;          // Percent of entries SCRAPED or SKIPPED
+        public final long servicesScraped;        // Distinct subscriptions with at least one SCRAPED entry
+        public final Double fetchP50Ms;
+        public final Double fetchP95Ms;
+        public final Double parseP50Ms;
+        public final Double parseP95Ms;
+        public final Map<ScrapeErrorClass, Long> errorClasses;
+
+        private Health(int windowDays, ScrapeRun lastRun, long runs, long failedRuns, long entries,
+                long fallbackCount, double successRate, long servicesScraped, List<Double> fetchMs,
+                List<Double> parseMs, Map<ScrapeErrorClass, Long> errorClasses) {
+            this.windowDays = windowDays;
+            this.lastRunAt = lastRun != null ? lastRun.getStartedAt() : null;
+            this.lastRunStatus = lastRun != null ? lastRun.getStatus().name() : null;
+            this.runs = runs;
+            this.failedRuns = failedRuns;
+            this.entries = entries;
+            this.fallbackCount = fallbackCount;
+            this.successRate = successRate;
+            this.servicesScraped = servicesScraped;
+            this.fetchP50Ms = percentile(fetchMs, 50);
+            this.fetchP95Ms = percentile(fetchMs, 95);
+            this.parseP50Ms = percentile(parseMs, 50);
+            this.parseP95Ms = percentile(parseMs, 95);
+            this.errorClasses = Collections.unmodifiableMap(errorClasses);
+        }
+
+        static Health of(int windowDays, ScrapeRun lastRun, long runs, long failedRuns,
+                List<ScrapeRunEntry> entries) {
+            long fallbackCount = 0;
+            Set<String> scrapedServices = new HashSet<>();
+            List<Double> fetchMs = new ArrayList<>(entries.size());
+            List<Double> parseMs = new ArrayList<>(entries.size());
+            Map<ScrapeErrorClass, Long> errorClasses = new EnumMap<>(ScrapeErrorClass.class);
+
+            for (ScrapeRunEntry entry : entries) {
+                if (entry.getOutcome() == ScrapeOutcome.FALLBACK) {
+                    fallbackCount++;
+                } else if (entry.getOutcome() == ScrapeOutcome.SCRAPED) {
+                    scrapedServices.add(entry.getSubscriptionName());
+                }
+                if (entry.getErrorClass() != null) {
+                    errorClasses.merge(entry.getErrorClass(), 1L, Long::sum);
+                }
+                if (entry.getFetchMs() != null) {
+                    fetchMs.add(entry.getFetchMs());
+                }
+                if (entry.getParseMs() != null) {
+                    parseMs.add(entry.getParseMs());
+                }
+            }
+            Collections.sort(fetchMs);
+            Collections.sort(parseMs);
+
+            double successRate = entries.isEmpty() ? 0.0
+                    : Math.round((entries.size() - fallbackCount) * 1000.0 / entries.size()) / 10.0;
+
+            return new Health(windowDays, lastRun, runs, failedRuns, entries.size(), fallbackCount, successRate,
+                    scrapedServices.size(), fetchMs, parseMs, errorClasses);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.repository.UserSubscriptionRepository;
+import com.subscriptiontracker.repository.UserSubscriptionRepositoryCustom.RollForward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Advances the renewal dates of auto-renewing subscriptions once they pass,
+ * recording each period renewed for as a RenewalEvent.
+ *
+ * Due subscriptions are walked by id in chunks of
+ * app.scheduling.renewal-chunk-size; each chunk is one INSERT and one UPDATE
+ * committed together, so an interrupted run keeps the chunks it finished and
+ * the next run picks up the rest.
+ */
+@Service
+public class SubscriptionRenewalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionRenewalService.class);
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${app.scheduling.timezone:Asia/Kolkata}")
+    private String schedulingTimezone;
+
+    @Value("${app.scheduling.renewal-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Roll every past-due auto-renewing subscription forward to its next
+     * renewal date on or after today.
+     *
+     * @return number of subscriptions rolled forward
+     */
+    public int rollForwardDue() {
+        LocalDate today = LocalDate.now(ZoneId.of(schedulingTimezone));
+        PageRequest chunk = PageRequest.of(0, Math.max(1, chunkSize));
+        BooleanSupplier leaseLost = jobLeaseService.currentLeaseLost();
+
+        int subscriptions = 0;
+        int events = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            if (leaseLost.getAsBoolean()) {
+                logger.warn("[RENEWALS] Roll-forward lease lost, stopping after {} subscriptions", subscriptions);
+                break;
+            }
+            ids = userSubscriptionRepository.findIdsDueForRollForward(today, afterId, chunk);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long from = afterId;
+            long to = ids.get(ids.size() - 1);
+            RollForward rolled = transactionTemplate.execute(status ->
+                    userSubscriptionRepository.rollForward(from, to, today));
+            subscriptions += rolled.subscriptions;
+            events += rolled.events;
+            afterId = to;
+        } while (ids.size() == chunk.getPageSize());
+
+        logger.info("[RENEWALS] Rolled {} auto-renewing subscriptions forward to {} or later, {} renewal events",
+                subscriptions, today, events);
+        return subscriptions;
+    }
+}
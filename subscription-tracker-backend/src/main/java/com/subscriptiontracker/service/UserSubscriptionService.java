@@ -8,6 +8,7 @@ import com.subscriptiontracker.entity.UserSubscription;
 import com.subscriptiontracker.exception.BadRequestException;
 import com.subscriptiontracker.exception.ResourceNotFoundException;
 import com.subscriptiontracker.repository.UserSubscriptionRepository;
+import com.subscriptiontracker.scheduler.RenewalReminderWheel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +30,9 @@ public class UserSubscriptionService {
     @Autowired
     private SubscriptionService subscriptionService;
 
+    @Autowired
+    private RenewalReminderWheel renewalReminderWheel;
+
     // Get all active subscriptions for current user
     public List<UserSubscriptionDTO> getUserSubscriptions() {
         Long userId = authService.getCurrentUserId();
@@ -79,6 +83,7 @@ public class UserSubscriptionService {
             // Deactivate the existing subscription
             existing.setIsActive(false);
             userSubscriptionRepository.save(existing);
+            renewalReminderWheel.cancel(existing.getId());
         }
 
         // Calculate renewal date if not provided
@@ -103,6 +108,7 @@ public class UserSubscriptionService {
                 .build();
 
         UserSubscription saved = userSubscriptionRepository.save(userSubscription);
+        renewalReminderWheel.schedule(saved);
         return convertToDTO(saved);
     }
 
@@ -127,9 +133,11 @@ public class UserSubscriptionService {
         }
         if (request.getStartDate() != null) {
             userSubscription.setStartDate(request.getStartDate());
+            userSubscription.setRenewalAnchorDay(null); // Derived again on the next roll-forward
         }
         if (request.getRenewalDate() != null) {
             userSubscription.setRenewalDate(request.getRenewalDate());
+            userSubscription.setRenewalAnchorDay(null);
         }
         if (request.getAutoRenew() != null) {
             userSubscription.setAutoRenew(request.getAutoRenew());
@@ -142,6 +150,7 @@ public class UserSubscriptionService {
         }
 
         UserSubscription updated = userSubscriptionRepository.save(userSubscription);
+        renewalReminderWheel.schedule(updated);
         return convertToDTO(updated);
     }
 
@@ -160,6 +169,7 @@ public class UserSubscriptionService {
         // Soft delete - just mark as inactive
         userSubscription.setIsActive(false);
         userSubscriptionRepository.save(userSubscription);
+        renewalReminderWheel.cancel(id);
     }
 
     // Calculate total monthly subscription cost
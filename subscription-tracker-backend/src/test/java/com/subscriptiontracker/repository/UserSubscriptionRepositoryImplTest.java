@@ -0,0 +1,64 @@
+package com.subscriptiontracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Renewal dates produced by the roll-forward, in particular at month ends.
+ */
+class UserSubscriptionRepositoryImplTest {
+
+    private static LocalDate date(String iso) {
+        return LocalDate.parse(iso);
+    }
+
+    @Test
+    void monthEndRenewalsDoNotDriftWithinOneRun() {
+        assertEquals(List.of(date("2026-01-31"), date("2026-02-28"), date("2026-03-31"), date("2026-04-30")),
+                UserSubscriptionRepositoryImpl.rollForwardDates(date("2026-01-31"), 31, false, date("2026-04-15")));
+    }
+
+    @Test
+    void monthEndRenewalsDoNotDriftAcrossDailyRuns() {
+        LocalDate start = date("2026-01-31");
+
+        // Run on Feb 1: Jan 31 passed, next renewal Feb 28
+        int anchor = UserSubscriptionRepositoryImpl.anchorDay(start, start, null);
+        List<LocalDate> first = UserSubscriptionRepositoryImpl.rollForwardDates(start, anchor, false,
+                date("2026-02-01"));
+        assertEquals(List.of(date("2026-01-31"), date("2026-02-28")), first);
+
+        // Run on Mar 1, from the stored Feb 28 and anchor: back to the 31st, not Mar 28
+        List<LocalDate> second = UserSubscriptionRepositoryImpl.rollForwardDates(date("2026-02-28"), anchor, false,
+                date("2026-03-01"));
+        assertEquals(List.of(date("2026-02-28"), date("2026-03-31")), second);
+    }
+
+    @Test
+    void anchorIsRecoveredFromTheStartDateBeforeOneIsStored() {
+        // Created on Jan 31 with the default one-month renewal, which clamps to Feb 28
+        assertEquals(31, UserSubscriptionRepositoryImpl.anchorDay(date("2026-01-31"), date("2026-02-28"), null));
+        // A renewal date chosen by the user keeps its own day
+        assertEquals(15, UserSubscriptionRepositoryImpl.anchorDay(date("2026-01-10"), date("2026-02-15"), null));
+        assertEquals(15, UserSubscriptionRepositoryImpl.anchorDay(null, date("2026-02-15"), null));
+        // Once stored, it wins
+        assertEquals(30, UserSubscriptionRepositoryImpl.anchorDay(date("2026-01-31"), date("2026-02-28"), 30));
+    }
+
+    @Test
+    void yearlyRenewalsKeepLeapDay() {
+        assertEquals(List.of(date("2024-02-29"), date("2025-02-28"), date("2026-02-28"), date("2027-02-28"),
+                        date("2028-02-29"), date("2029-02-28")),
+                UserSubscriptionRepositoryImpl.rollForwardDates(date("2024-02-29"), 29, true, date("2028-03-01")));
+    }
+
+    @Test
+    void renewalDueTodayIsNotRolled() {
+        assertEquals(List.of(date("2026-05-10")),
+                UserSubscriptionRepositoryImpl.rollForwardDates(date("2026-05-10"), 10, false, date("2026-05-10")));
+    }
+}
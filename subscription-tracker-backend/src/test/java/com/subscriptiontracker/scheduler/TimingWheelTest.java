@@ -0,0 +1,83 @@
+package com.subscriptiontracker.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Expiry across levels, cancellation and rescheduling in TimingWheel.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    void returnsKeysOnceTheirDeadlinePasses() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 0);
+        wheel.schedule("soon", 2_500);
+        wheel.schedule("later", 5_000);
+
+        assertEquals(List.of(), wheel.advance(2_000));
+        assertEquals(List.of("soon"), wheel.advance(3_000));
+        assertEquals(List.of("later"), wheel.advance(10_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFarDeadlinesThroughHigherLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 4, 0);
+        Random random = new Random(42);
+        List<long[]> scheduled = new ArrayList<>();
+        for (long key = 0; key < 500; key++) {
+            long deadline = 1 + random.nextInt(200_000);
+            wheel.schedule(key, deadline);
+            scheduled.add(new long[] { key, deadline });
+        }
+
+        // Step in uneven increments; each key must come out on the first
+        // advance that reaches its deadline rounded up to a whole tick
+        long previous = 0;
+        int returned = 0;
+        while (previous < 210_000) {
+            long now = previous + 1 + random.nextInt(7_000);
+            for (Long key : wheel.advance(now)) {
+                long rounded = (scheduled.get(key.intValue())[1] + TICK - 1) / TICK * TICK;
+                assertTrue(rounded > previous && rounded <= now,
+                        "Key " + key + " due at " + rounded + " fired between " + previous + " and " + now);
+                returned++;
+            }
+            previous = now;
+        }
+        assertEquals(500, returned);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 0);
+        wheel.schedule("a", 3_000);
+        wheel.schedule("b", 3_000);
+        assertTrue(wheel.cancel("a"));
+        wheel.schedule("b", 20_000);
+
+        assertEquals(List.of(), wheel.advance(5_000));
+        assertFalse(wheel.contains("a"));
+        assertEquals(List.of("b"), wheel.advance(20_000));
+    }
+
+    @Test
+    void rejectsDeadlinesAlreadyPast() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 10_000);
+
+        assertFalse(wheel.schedule("past", 9_000));
+        assertFalse(wheel.contains("past"));
+        assertTrue(wheel.schedule("next", 10_001));
+        assertEquals(List.of("next"), wheel.advance(11_000));
+    }
+}
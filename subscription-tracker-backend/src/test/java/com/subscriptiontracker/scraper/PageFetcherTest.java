@@ -0,0 +1,277 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Retry classification, Retry-After, circuit breaking and the pooled HTTP
+ * client behind PageFetcher, against a local server that plays back
+ * scripted responses.
+ */
+@SpringJUnitConfig(PageFetcherTest.FetcherConfig.class)
+@TestPropertySource(properties = {
+        "scraper.retry.max-attempts=3",
+        "scraper.retry.delay-ms=50",
+        "scraper.retry.max-delay-ms=5000",
+        "scraper.circuit.failure-threshold=2",
+        "scraper.circuit.open-ms=600000",
+        "scraper.http.max-body-bytes=65536"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PageFetcherTest {
+
+    private static final String PAGE = "<html><body><p>Premium ₹649/month</p></body></html>";
+
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private HostCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private ScrapeEngine scrapeEngine;
+
+    @Autowired
+    private ScraperConfig scraperConfig;
+
+    private HttpServer server;
+    private final Deque<int[]> script = new ArrayDeque<>(); // {status, retryAfterSeconds or -1}
+    private final AtomicInteger requests = new AtomicInteger();
+    private String body = PAGE;
+    private boolean gzip;
+    private volatile CountDownLatch stalled; // Counted down when a request reaches the server
+    private volatile CountDownLatch stall;   // Holds the response until counted down
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::respond);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesServiceUnavailableAfterRetryAfter() {
+        script.add(new int[] { 503, 1 });
+        script.add(new int[] { 200, -1 });
+
+        long start = System.nanoTime();
+        FetchedPage page = pageFetcher.fetch(url(), "Test", null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(FetchedPage.Status.FETCHED, page.status);
+        assertEquals(2, requests.get());
+        assertTrue(elapsedMs >= 900, "Retry-After was not honored: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        script.add(new int[] { 404, -1 });
+
+        FetchedPage page = pageFetcher.fetch(url(), "Test", null);
+
+        assertEquals(FetchedPage.Status.FAILED, page.status);
+        assertEquals("HTTP 404", page.error);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void givesUpWhenRetryAfterExceedsLimit() {
+        script.add(new int[] { 429, 3600 });
+
+        FetchedPage page = pageFetcher.fetch(url(), "Test", null);
+
+        assertEquals(FetchedPage.Status.FAILED, page.status);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedFailures() {
+        for (int i = 0; i < 6; i++) {
+            script.add(new int[] { 500, -1 });
+        }
+
+        pageFetcher.fetch(url(), "Test", null);
+        pageFetcher.fetch(url(), "Test", null);
+        assertEquals(6, requests.get());
+        assertEquals(HostCircuitBreaker.State.OPEN, circuitBreaker.getState("127.0.0.1"));
+
+        FetchedPage page = pageFetcher.fetch(url(), "Test", null);
+        assertEquals(FetchedPage.Status.FAILED, page.status);
+        assertTrue(page.error.startsWith("Circuit open"));
+        assertEquals(6, requests.get());
+    }
+
+    @Test
+    void cancelledQueuedTrialReopensTheCircuit() throws InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            script.add(new int[] { 500, -1 });
+        }
+        pageFetcher.fetch(url(), "Test", null);
+        pageFetcher.fetch(url(), "Test", null);
+        assertEquals(HostCircuitBreaker.State.OPEN, circuitBreaker.getState("127.0.0.1"));
+
+        // Let the next fetch through as a trial, but keep every worker busy so it stays queued
+        ReflectionTestUtils.setField(scraperConfig, "circuitOpenMs", 0L);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(scraperConfig.getMaxConcurrentFetches());
+        for (int i = 0; i < scraperConfig.getMaxConcurrentFetches(); i++) {
+            scrapeEngine.executor().execute(() -> {
+                busy.countDown();
+                awaitQuietly(release);
+            });
+        }
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<FetchedPage> trial = pageFetcher.fetchAsync(url(), "Test", null);
+        assertEquals(HostCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState("127.0.0.1"));
+
+        // Cancelled at the run deadline before it ever ran
+        trial.cancel(false);
+        assertEquals(HostCircuitBreaker.State.OPEN, circuitBreaker.getState("127.0.0.1"));
+        release.countDown();
+
+        // The next fetch becomes the trial and closes the circuit
+        FetchedPage page = pageFetcher.fetch(url(), "Test", null);
+        assertEquals(FetchedPage.Status.FETCHED, page.status);
+        assertEquals(HostCircuitBreaker.State.CLOSED, circuitBreaker.getState("127.0.0.1"));
+        assertEquals(7, requests.get());
+    }
+
+    @Test
+    void cancellingAFetchAbortsItsOpenRequest() throws Exception {
+        stalled = new CountDownLatch(1);
+        stall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<FetchedPage> fetch = pageFetcher.fetchAsync(url(), "Test", null);
+            assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+            // Keep every other worker busy, so only the aborted fetch can free one
+            for (int i = 1; i < scraperConfig.getMaxConcurrentFetches(); i++) {
+                scrapeEngine.executor().execute(() -> awaitQuietly(release));
+            }
+
+            // Cancelled at the run deadline while the server has not answered yet
+            fetch.cancel(false);
+            CompletableFuture.runAsync(() -> { }, scrapeEngine.executor()).get(2, TimeUnit.SECONDS);
+            assertEquals(1, requests.get());
+        } finally {
+            release.countDown();
+            stall.countDown();
+        }
+    }
+
+    @Test
+    void decodesGzipAndReusesTheConnection() {
+        body = PAGE.replace("</p>", "</p>" + "<p>Ad-free music listening, offline playback</p>".repeat(200));
+        gzip = true;
+
+        FetchedPage first = pageFetcher.fetch(url(), "Test", null);
+        FetchedPage second = pageFetcher.fetch(url(), "Test", null);
+
+        assertEquals(FetchedPage.Status.FETCHED, first.status);
+        assertTrue(first.document.text().contains("Premium ₹649/month"));
+        assertTrue(first.bytesReceived > 0 && first.bytesReceived < body.length() / 4,
+                "Expected a compressed transfer, got " + first.bytesReceived + " bytes");
+        assertEquals(0, first.connectionsReused);
+        assertEquals(1, second.connectionsReused);
+    }
+
+    @Test
+    void rejectsOversizedBodiesWithoutRetrying() {
+        body = "<html><body>" + "x".repeat(100_000) + "</body></html>";
+
+        FetchedPage page = pageFetcher.fetch(url(), "Test", null);
+
+        assertEquals(FetchedPage.Status.FAILED, page.status);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void retryAfterAcceptsSecondsAndHttpDates() {
+        assertEquals(120_000, PageFetcher.parseRetryAfterMs("120", 0));
+        assertEquals(30_000, PageFetcher.parseRetryAfterMs("Thu, 01 Jan 1970 00:00:30 GMT", 0));
+        assertEquals(-1, PageFetcher.parseRetryAfterMs("soon", 0));
+        assertEquals(-1, PageFetcher.parseRetryAfterMs(null, 0));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/pricing";
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (stall != null) {
+                stalled.countDown();
+                awaitQuietly(stall);
+            }
+            int[] next = script.isEmpty() ? new int[] { 200, -1 } : script.poll();
+            if (next[1] >= 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(next[1]));
+            }
+            byte[] bytes = (next[0] == 200 ? body : "error").getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                    out.write(bytes);
+                }
+                bytes = compressed.toByteArray();
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(next[0], bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Configuration
+    @Import({ PageFetcher.class, ScraperConfig.class, ScrapeEngine.class, HostCircuitBreaker.class,
+            ScraperHttpClient.class })
+    static class FetcherConfig {
+    }
+}
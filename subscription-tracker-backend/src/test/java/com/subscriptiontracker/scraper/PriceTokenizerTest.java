@@ -0,0 +1,108 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.scraper.PriceTokenizer.Currency;
+import com.subscriptiontracker.scraper.PriceTokenizer.PriceToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Currency markers, number formats, billing periods and word boundaries in
+ * PriceTokenizer.
+ */
+class PriceTokenizerTest {
+
+    @Test
+    void recognisesEveryCurrencyMarker() {
+        assertSingle("₹199", Currency.INR, 199, 0);
+        assertSingle("$9.99", Currency.USD, 9.99, 0);
+        assertSingle("Rs 499", Currency.INR, 499, 0);
+        assertSingle("Rs.649", Currency.INR, 649, 0);
+        assertSingle("RS. 149", Currency.INR, 149, 0);
+        assertSingle("INR 1499", Currency.INR, 1499, 0);
+        assertSingle("₹ 299", Currency.INR, 299, 0);
+    }
+
+    @Test
+    void reportsMarkerAndDigitPositions() {
+        PriceTokenizer tokenizer = new PriceTokenizer("Basic Rs. 149 only");
+        assertTrue(tokenizer.next());
+        assertEquals(6, tokenizer.getStart());
+        assertEquals(13, tokenizer.getEnd());
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    void parsesThousandsSeparatorsAndStopsBeforeTrailingDot() {
+        assertSingle("₹1,950", Currency.INR, 1950, 0);
+        assertSingle("₹1,00,000", Currency.INR, 100000, 0);
+        assertSingle("$0.028", Currency.USD, 0.028, 0);
+
+        List<PriceToken> tokens = PriceTokenizer.tokenize("Now just ₹1,499. Cancel anytime");
+        assertEquals(1, tokens.size());
+        assertEquals(1499, tokens.get(0).amount);
+        assertEquals('.', "Now just ₹1,499. Cancel anytime".charAt(tokens.get(0).end));
+
+        // A comma not followed by a digit ends the amount
+        tokens = PriceTokenizer.tokenize("₹199, ₹299");
+        assertEquals(2, tokens.size());
+        assertEquals(199, tokens.get(0).amount);
+        assertEquals(299, tokens.get(1).amount);
+    }
+
+    @Test
+    void readsBillingPeriodSuffixes() {
+        assertSingle("₹199/month", Currency.INR, 199, 1);
+        assertSingle("₹199 /mo", Currency.INR, 199, 1);
+        assertSingle("₹599 / 3 months", Currency.INR, 599, 3);
+        assertSingle("₹1,499 per year", Currency.INR, 1499, 12);
+        assertSingle("$99/yr", Currency.USD, 99, 12);
+        assertSingle("₹899 for 6 months", Currency.INR, 899, 6);
+        assertSingle("₹149 INR/month", Currency.INR, 149, 1);
+        assertSingle("₹149 Per Month", Currency.INR, 149, 1);
+        assertSingle("₹149 monthly", Currency.INR, 149, 0);
+    }
+
+    @Test
+    void rejectsMarkersInsideWords() {
+        assertEquals(List.of(), PriceTokenizer.tokenize("MINR5"));
+        assertEquals(List.of(), PriceTokenizer.tokenize("PRs 5"));
+        assertEquals(List.of(), PriceTokenizer.tokenize("Rsvp 5"));
+        assertEquals(List.of(), PriceTokenizer.tokenize("INRA 5"));
+        assertEquals(List.of(), PriceTokenizer.tokenize("Rs only"));
+
+        // The word check applies per marker, so a later real price is still found
+        assertSingle("PRs 5 or Rs 10", Currency.INR, 10, 0);
+    }
+
+    @Test
+    void rejectsIntegersLongerThanFifteenDigits() {
+        assertSingle("₹123456789012345", Currency.INR, 123456789012345d, 0);
+        assertEquals(List.of(), PriceTokenizer.tokenize("₹1234567890123456"));
+        assertSingle("₹1234567890123456 then ₹49", Currency.INR, 49, 0);
+    }
+
+    @Test
+    void firstAmountFiltersByCurrencyAndPeriod() {
+        String text = "$4.99/month or ₹149/month, ₹1,499/year";
+        assertEquals(4.99, PriceTokenizer.firstAmount(text, Currency.USD));
+        assertEquals(149, PriceTokenizer.firstAmount(text, Currency.INR));
+        assertEquals(1499, PriceTokenizer.firstAmount(text, Currency.INR, 12));
+        assertNull(PriceTokenizer.firstAmount(text, Currency.INR, 3));
+        assertNull(PriceTokenizer.firstAmount(null, Currency.INR));
+    }
+
+    private static void assertSingle(String text, Currency currency, double amount, int periodMonths) {
+        List<PriceToken> tokens = PriceTokenizer.tokenize(text);
+        assertEquals(1, tokens.size(), () -> "Tokens in \"" + text + "\": " + tokens);
+        PriceToken token = tokens.get(0);
+        assertEquals(currency, token.currency, text);
+        assertEquals(amount, token.amount, text);
+        assertEquals(periodMonths, token.periodMonths, text);
+    }
+}
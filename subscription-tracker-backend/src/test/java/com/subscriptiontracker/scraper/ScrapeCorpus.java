@@ -0,0 +1,125 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.scraper.extractor.PlanExtractorRegistry;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Archived vendor pricing pages from src/test/resources/scrape-corpus, keyed
+ * by subscription name as listed in corpus.properties.
+ */
+public final class ScrapeCorpus {
+
+    private static final String CORPUS_DIR = "/scrape-corpus/";
+
+    /** One line of expected-plans.txt. */
+    public static final class ExpectedPlan {
+        public final String planName;
+        public final Double priceMonthly;
+        public final Double priceYearly;
+
+        ExpectedPlan(String planName, Double priceMonthly, Double priceYearly) {
+            this.planName = planName;
+            this.priceMonthly = priceMonthly;
+            this.priceYearly = priceYearly;
+        }
+    }
+
+    private ScrapeCorpus() {
+    }
+
+    /**
+     * @return raw HTML per subscription name, in name order
+     */
+    public static Map<String, String> loadHtml() {
+        Properties index = new Properties();
+        try (InputStream in = open("corpus.properties")) {
+            index.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, String> pages = new LinkedHashMap<>();
+        for (String name : new TreeSet<>(index.stringPropertyNames())) {
+            try (InputStream in = open(index.getProperty(name))) {
+                pages.put(name, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * @return parsed page per subscription name, in name order
+     */
+    public static Map<String, Document> loadDocuments() {
+        Map<String, Document> documents = new LinkedHashMap<>();
+        loadHtml().forEach((name, html) -> documents.put(name, Jsoup.parse(html)));
+        return documents;
+    }
+
+    /**
+     * @return the plans each page is expected to yield, in extraction order,
+     *         per subscription name
+     */
+    public static Map<String, List<ExpectedPlan>> loadExpectedPlans() {
+        Map<String, List<ExpectedPlan>> expected = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(open("expected-plans.txt"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\|");
+                if (fields.length != 4) {
+                    throw new IllegalStateException("Malformed expected-plans.txt line: " + line);
+                }
+                expected.computeIfAbsent(fields[0].trim(), name -> new ArrayList<>())
+                        .add(new ExpectedPlan(fields[1].trim(), price(fields[2]), price(fields[3])));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return expected;
+    }
+
+    private static Double price(String field) {
+        String value = field.trim();
+        return value.equals("-") ? null : Double.valueOf(value);
+    }
+
+    /**
+     * Registry wired the same way as in the application, but from a context
+     * holding only the extractor package - no database or web layer.
+     */
+    public static PlanExtractorRegistry extractorRegistry() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                PlanExtractorRegistry.class.getPackageName())) {
+            return context.getBean(PlanExtractorRegistry.class);
+        }
+    }
+
+    private static InputStream open(String file) throws IOException {
+        InputStream in = ScrapeCorpus.class.getResourceAsStream(CORPUS_DIR + file);
+        if (in == null) {
+            throw new IOException("Missing corpus file " + CORPUS_DIR + file);
+        }
+        return in;
+    }
+}
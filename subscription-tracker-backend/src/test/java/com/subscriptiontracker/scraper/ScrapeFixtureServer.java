@@ -0,0 +1,122 @@
+package com.subscriptiontracker.scraper;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server for the scrape corpus, so the real fetch path can run
+ * without network access. Each page is served at "/" + the subscription name
+ * lowercased with spaces as hyphens + ".html" - the layout PriceScraperService
+ * expects under scraper.replay.base-url - with a strong ETag, answering a
+ * matching If-None-Match with 304.
+ *
+ * Run main() to serve the corpus to a locally started backend:
+ * SCRAPER_REPLAY_BASE_URL=http://127.0.0.1:&lt;port&gt;
+ */
+public final class ScrapeFixtureServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, byte[]> bodies = new LinkedHashMap<>();
+    private final Map<String, String> etags = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    private ScrapeFixtureServer(int port) throws IOException {
+        ScrapeCorpus.loadHtml().forEach((name, html) -> {
+            String path = pathFor(name);
+            byte[] body = html.getBytes(StandardCharsets.UTF_8);
+            bodies.put(path, body);
+            etags.put(path, "\"" + sha256(body).substring(0, 16) + "\"");
+            requestCounts.put(path, new AtomicInteger());
+        });
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Start a server on a free loopback port.
+     */
+    public static ScrapeFixtureServer start() throws IOException {
+        return new ScrapeFixtureServer(0);
+    }
+
+    /**
+     * @return base URL to use as scraper.replay.base-url
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return number of requests served for a subscription's page, including 304s
+     */
+    public int getRequestCount(String subscriptionName) {
+        AtomicInteger count = requestCounts.get(pathFor(subscriptionName));
+        return count != null ? count.get() : 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = bodies.get(path);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            requestCounts.get(path).incrementAndGet();
+
+            String etag = etags.get(path);
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    static String pathFor(String subscriptionName) {
+        return "/" + subscriptionName.toLowerCase(Locale.ROOT).replace(' ', '-') + ".html";
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        ScrapeFixtureServer fixtureServer = new ScrapeFixtureServer(port);
+        System.out.println("Serving scrape corpus at " + fixtureServer.getBaseUrl());
+        fixtureServer.bodies.keySet().forEach(path -> System.out.println("  " + path));
+        Thread.currentThread().join();
+    }
+}
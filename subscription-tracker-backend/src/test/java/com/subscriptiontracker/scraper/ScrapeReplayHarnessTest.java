@@ -0,0 +1,400 @@
+package com.subscriptiontracker.scraper;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import com.subscriptiontracker.entity.PageFingerprint;
+import com.subscriptiontracker.entity.ScrapeRunEntry;
+import com.subscriptiontracker.entity.Subscription;
+import com.subscriptiontracker.entity.SubscriptionPlan;
+import com.subscriptiontracker.repository.PageFingerprintRepository;
+import com.subscriptiontracker.repository.PlanPriceChangeRepository;
+import com.subscriptiontracker.repository.PriceHistoryRepository;
+import com.subscriptiontracker.repository.SubscriptionPlanRepository;
+import com.subscriptiontracker.repository.SubscriptionPlanRepositoryCustom.PlanReconciliation;
+import com.subscriptiontracker.repository.SubscriptionRepository;
+import com.subscriptiontracker.repository.WatchlistRepository;
+import com.subscriptiontracker.scraper.ScrapeCorpus.ExpectedPlan;
+import com.subscriptiontracker.scraper.extractor.PlanExtractor;
+import com.subscriptiontracker.scraper.extractor.PlanExtractorRegistry;
+import com.subscriptiontracker.service.AlertService;
+import com.subscriptiontracker.service.PriceScraperService;
+import com.subscriptiontracker.service.ScrapeLedgerService;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays the scrape corpus through the full scrapeSubscriptionPrice path -
+ * real PageFetcher over HTTP, ScrapeEngine, extractor registry and plan
+ * validation - against a local {@link ScrapeFixtureServer}, with the
+ * repositories mocked out, and checks the saved plans against
+ * scrape-corpus/expected-plans.txt. Needs no network or database.
+ *
+ * Reports per-extractor parse latency, allocation and the extracted plans to
+ * the log and to target/scrape-replay-report.txt. Iterations per page can be
+ * raised with -Dscrape.replay.iterations=N.
+ */
+@SpringJUnitConfig(ScrapeReplayHarnessTest.HarnessConfig.class)
+class ScrapeReplayHarnessTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeReplayHarnessTest.class);
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = Integer.getInteger("scrape.replay.iterations", 20);
+    private static final Path REPORT_FILE = Path.of("target", "scrape-replay-report.txt");
+
+    private static ScrapeFixtureServer fixtureServer;
+
+    @MockBean
+    private SubscriptionRepository subscriptionRepository;
+
+    @MockBean
+    private SubscriptionPlanRepository subscriptionPlanRepository;
+
+    @MockBean
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @MockBean
+    private PlanPriceChangeRepository planPriceChangeRepository;
+
+    @MockBean
+    private WatchlistRepository watchlistRepository;
+
+    @MockBean
+    private AlertService alertService;
+
+    @MockBean
+    private PageFingerprintRepository pageFingerprintRepository;
+
+    @MockBean
+    private ScrapeLedgerService scrapeLedgerService;
+
+    @Autowired
+    private PriceScraperService priceScraperService;
+
+    @Autowired
+    private ExtractorProbe probe;
+
+    private final Map<String, Subscription> subscriptions = new LinkedHashMap<>();
+
+    // Last plan list handed to the bulk write, per subscription id
+    private final Map<Long, List<SubscriptionPlan>> savedPlans = new ConcurrentHashMap<>();
+
+    // Last fingerprint stored, per page URL
+    private final Map<String, PageFingerprint> savedFingerprints = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void startFixtureServer() throws IOException {
+        fixtureServer = ScrapeFixtureServer.start();
+    }
+
+    @AfterAll
+    static void stopFixtureServer() {
+        fixtureServer.close();
+    }
+
+    @DynamicPropertySource
+    static void scraperProperties(DynamicPropertyRegistry registry) {
+        registry.add("scraper.replay.base-url", () -> fixtureServer.getBaseUrl());
+        registry.add("scraper.retry.max-attempts", () -> "1");
+        registry.add("scraper.connection.timeout", () -> "5000");
+    }
+
+    @BeforeEach
+    void setUp() {
+        long id = 1;
+        for (String name : ScrapeCorpus.loadHtml().keySet()) {
+            subscriptions.put(name, Subscription.builder().id(id++).name(name).currency("INR").build());
+        }
+
+        when(subscriptionRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(subscriptions.values()));
+        when(subscriptionRepository.findById(anyLong())).thenAnswer(invocation -> subscriptions.values().stream()
+                .filter(s -> s.getId().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(subscriptionPlanRepository.reconcilePlans(anyLong(), anyList(), any())).thenAnswer(invocation -> {
+            List<SubscriptionPlan> desired = invocation.getArgument(1);
+            savedPlans.put(invocation.getArgument(0), desired);
+            return new PlanReconciliation(desired.size(), 0, 0, 0, desired.size());
+        });
+        when(pageFingerprintRepository.findByUrl(anyString())).thenReturn(Optional.empty());
+        when(pageFingerprintRepository.save(any(PageFingerprint.class))).thenAnswer(invocation -> {
+            PageFingerprint fingerprint = invocation.getArgument(0);
+            savedFingerprints.put(fingerprint.getUrl(), fingerprint);
+            return fingerprint;
+        });
+
+        probe.reset();
+    }
+
+    @Test
+    void replaysCorpusThroughScrapeSubscriptionPrice() throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            subscriptions.values().forEach(priceScraperService::scrapeSubscriptionPrice);
+        }
+        probe.reset();
+
+        for (Subscription subscription : subscriptions.values()) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                ScrapeOutcome outcome = priceScraperService.scrapeSubscriptionPrice(subscription);
+                assertEquals(ScrapeOutcome.SCRAPED, outcome, subscription.getName() + " fell back");
+            }
+
+            assertNotNull(savedPlans.get(subscription.getId()), "No plans saved for " + subscription.getName());
+            assertEquals(ITERATIONS, probe.samples(subscription.getName()).count);
+        }
+
+        // Report first, so a mismatch can be diffed against expected-plans.txt
+        writeReport();
+        assertPlansMatchExpected();
+    }
+
+    private void assertPlansMatchExpected() {
+        Map<String, List<ExpectedPlan>> expected = ScrapeCorpus.loadExpectedPlans();
+        assertEquals(subscriptions.keySet(), expected.keySet(), "Corpus pages without expected plans");
+
+        for (Subscription subscription : subscriptions.values()) {
+            String name = subscription.getName();
+            List<SubscriptionPlan> plans = savedPlans.get(subscription.getId());
+            List<ExpectedPlan> expectedPlans = expected.get(name);
+            assertEquals(expectedPlans.stream().map(p -> p.planName).toList(),
+                    plans.stream().map(SubscriptionPlan::getPlanName).toList(), name + " plan names");
+
+            for (int i = 0; i < plans.size(); i++) {
+                SubscriptionPlan plan = plans.get(i);
+                ExpectedPlan expectedPlan = expectedPlans.get(i);
+                String label = name + " / " + plan.getPlanName();
+                assertPrice(expectedPlan.priceMonthly, plan.getPriceMonthly(), label + " monthly");
+                assertPrice(expectedPlan.priceYearly, plan.getPriceYearly(), label + " yearly");
+            }
+        }
+    }
+
+    // Prices are rounded to paise; only the yearly estimates carry float noise
+    private static void assertPrice(Double expected, Double actual, String message) {
+        if (expected == null) {
+            assertNull(actual, message);
+        } else {
+            assertNotNull(actual, message);
+            assertEquals(expected, actual, 0.005, message);
+        }
+    }
+
+    @Test
+    void unchangedPagesAreSkippedOnConditionalGet() {
+        Subscription netflix = subscriptions.get("Netflix");
+        assertEquals(ScrapeOutcome.SCRAPED, priceScraperService.scrapeSubscriptionPrice(netflix));
+
+        // Feed the stored ETag back; the fixture server answers 304 and nothing is parsed
+        PageFingerprint fingerprint = savedFingerprints.values().iterator().next();
+        when(pageFingerprintRepository.findByUrl(fingerprint.getUrl())).thenReturn(Optional.of(fingerprint));
+        probe.reset();
+
+        assertEquals(ScrapeOutcome.SKIPPED, priceScraperService.scrapeSubscriptionPrice(netflix));
+        assertEquals(0, probe.samples("Netflix").count);
+        assertTrue(fixtureServer.getRequestCount("Netflix") >= 2);
+    }
+
+    @Test
+    void scrapeAllPricesScrapesEveryCorpusPage() {
+        ScrapeRunSummary summary = priceScraperService.scrapeAllPrices();
+
+        assertEquals(subscriptions.size(), summary.getPagesRequested());
+        assertEquals(subscriptions.size(), summary.getScraped());
+        assertEquals(0, summary.getFallback());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScrapeRunEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(scrapeLedgerService).recordRun(eq("API"), any(), eq(summary), entries.capture());
+        assertEquals(subscriptions.size(), entries.getValue().size());
+        for (ScrapeRunEntry entry : entries.getValue()) {
+            assertEquals(ScrapeOutcome.SCRAPED, entry.getOutcome());
+            assertEquals(null, entry.getErrorClass());
+            assertTrue(entry.getFetchMs() != null && entry.getFetchMs() > 0, entry.getSubscriptionName());
+            assertTrue(entry.getPlanCount() != null && entry.getPlanCount() > 0, entry.getSubscriptionName());
+        }
+    }
+
+    private void writeReport() throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Scrape replay: %d iterations per page after %d warmup%n%n",
+                ITERATIONS, WARMUP_ITERATIONS));
+        report.append(String.format("%-18s %12s %12s %14s %6s%n",
+                "Subscription", "p50 (us)", "p95 (us)", "alloc p50 (KB)", "plans"));
+
+        StringBuilder planLines = new StringBuilder();
+        for (Subscription subscription : subscriptions.values()) {
+            Samples samples = probe.samples(subscription.getName());
+            List<SubscriptionPlan> plans = savedPlans.get(subscription.getId());
+            report.append(String.format("%-18s %12.1f %12.1f %14.1f %6d%n",
+                    subscription.getName(),
+                    percentile(samples.nanos, samples.count, 50) / 1_000.0,
+                    percentile(samples.nanos, samples.count, 95) / 1_000.0,
+                    percentile(samples.allocatedBytes, samples.count, 50) / 1_024.0,
+                    plans.size()));
+
+            planLines.append(String.format("%n%s%n", subscription.getName()));
+            for (SubscriptionPlan plan : plans) {
+                planLines.append(String.format("  %-32s monthly=%-10s yearly=%s%n",
+                        plan.getPlanName(), plan.getPriceMonthly(), plan.getPriceYearly()));
+            }
+        }
+        report.append(planLines);
+
+        logger.info("\n{}", report);
+        Files.createDirectories(REPORT_FILE.getParent());
+        Files.writeString(REPORT_FILE, report, StandardCharsets.UTF_8);
+    }
+
+    private static long percentile(long[] values, int count, int percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, (int) Math.ceil(percentile / 100.0 * count) - 1)];
+    }
+
+    // ==================== HARNESS WIRING ====================
+
+    /** Latency and allocation of each extract() call for one subscription. */
+    static final class Samples {
+        long[] nanos = new long[64];
+        long[] allocatedBytes = new long[64];
+        int count;
+
+        synchronized void add(long elapsedNanos, long allocated) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+                allocatedBytes = Arrays.copyOf(allocatedBytes, count * 2);
+            }
+            nanos[count] = elapsedNanos;
+            allocatedBytes[count] = allocated;
+            count++;
+        }
+    }
+
+    /**
+     * Wraps every PlanExtractor bean so each extract() call is timed and its
+     * allocation counted on the calling scraper worker thread.
+     */
+    static final class ExtractorProbe implements BeanPostProcessor {
+
+        private static final com.sun.management.ThreadMXBean THREADS =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof PlanExtractor extractor)) {
+                return bean;
+            }
+            return new PlanExtractor() {
+                @Override
+                public String getSubscriptionName() {
+                    return extractor.getSubscriptionName();
+                }
+
+                @Override
+                public List<ScrapedPlan> extract(Document doc) {
+                    long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    List<ScrapedPlan> plans = extractor.extract(doc);
+                    long elapsed = System.nanoTime() - start;
+                    samples(extractor.getSubscriptionName())
+                            .add(elapsed, THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                    return plans;
+                }
+            };
+        }
+
+        Samples samples(String subscriptionName) {
+            return samples.computeIfAbsent(subscriptionName, name -> new Samples());
+        }
+
+        void reset() {
+            samples.clear();
+        }
+    }
+
+    /** Commits nothing; the repositories behind it are mocks. */
+    static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    @Configuration
+    @Import({ PriceScraperService.class, ScraperConfig.class, ScrapeEngine.class, PageFetcher.class,
+            HostCircuitBreaker.class, ScraperHttpClient.class })
+    @ComponentScan(basePackageClasses = PlanExtractorRegistry.class)
+    static class HarnessConfig {
+
+        @Bean
+        static ExtractorProbe extractorProbe() {
+            return new ExtractorProbe();
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate() {
+            return new TransactionTemplate(new NoOpTransactionManager());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.subscriptiontracker.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which tokens JwtAuthenticationFilter accepts where: regular tokens only as
+ * bearer tokens, alert stream tokens only in the alert stream's query.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", 60_000L);
+
+        user = new UserDetailsImpl(1L, "User", EMAIL, "password", List.of());
+        UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(user);
+
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acceptsStreamTokenInTheStreamQuery() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/alerts/stream");
+        request.setParameter("token", jwtUtils.generateStreamToken(EMAIL, 60_000));
+
+        assertEquals(user, authenticate(request).getPrincipal());
+    }
+
+    @Test
+    void acceptsRegularTokenAsBearer() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/alerts/stream");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(user));
+
+        assertEquals(user, authenticate(request).getPrincipal());
+    }
+
+    @Test
+    void rejectsStreamTokenElsewhere() throws Exception {
+        String streamToken = jwtUtils.generateStreamToken(EMAIL, 60_000);
+
+        MockHttpServletRequest otherPath = new MockHttpServletRequest("GET", "/api/alerts");
+        otherPath.setParameter("token", streamToken);
+        assertNull(authenticate(otherPath));
+
+        MockHttpServletRequest bearer = new MockHttpServletRequest("GET", "/api/alerts");
+        bearer.addHeader("Authorization", "Bearer " + streamToken);
+        assertNull(authenticate(bearer));
+    }
+
+    @Test
+    void rejectsRegularTokenInTheQuery() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/alerts/stream");
+        request.setParameter("token", jwtUtils.generateToken(user));
+
+        assertNull(authenticate(request));
+    }
+
+    @Test
+    void rejectsExpiredStreamToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/alerts/stream");
+        request.setParameter("token", jwtUtils.generateStreamToken(EMAIL, -1_000));
+
+        assertNull(authenticate(request));
+    }
+
+    private Authentication authenticate(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,50 @@
+package com.subscriptiontracker.service;
+
+import com.subscriptiontracker.config.ScraperConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Re-scrape intervals learned by ScrapeCadenceService under the default
+ * cadence settings.
+ */
+class ScrapeCadenceServiceTest {
+
+    private static final int LOOKBACK_DAYS = 180;
+
+    private final ScraperConfig scraperConfig = new ScraperConfig();
+    private final ScrapeCadenceService cadenceService = new ScrapeCadenceService();
+
+    @BeforeEach
+    void setUp() {
+        // Same as application.properties
+        ReflectionTestUtils.setField(scraperConfig, "cadenceLookbackDays", LOOKBACK_DAYS);
+        ReflectionTestUtils.setField(scraperConfig, "cadenceTargetChangeProbability", 0.05);
+        ReflectionTestUtils.setField(scraperConfig, "cadenceMinIntervalHours", 4L);
+        ReflectionTestUtils.setField(scraperConfig, "cadenceMaxStalenessHours", 24L);
+        ReflectionTestUtils.setField(cadenceService, "scraperConfig", scraperConfig);
+    }
+
+    @Test
+    void stableSubscriptionsAreCheckedDaily() {
+        // 0 and 1 changes in 180 days work out to ~443h and ~148h, capped at max staleness
+        assertEquals(Duration.ofHours(24), cadenceService.interval(0, LOOKBACK_DAYS));
+        assertEquals(Duration.ofHours(24), cadenceService.interval(1, LOOKBACK_DAYS));
+    }
+
+    @Test
+    void frequentChangesShortenTheInterval() {
+        // -ln(0.95) / (10.5 changes / 4320h) = 21.1h
+        assertEquals(Duration.ofMinutes(1266), cadenceService.interval(10, LOOKBACK_DAYS));
+    }
+
+    @Test
+    void volatileSubscriptionsAreClampedToTheMinimumInterval() {
+        assertEquals(Duration.ofHours(4), cadenceService.interval(500, LOOKBACK_DAYS));
+    }
+}
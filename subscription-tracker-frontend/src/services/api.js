@@ -107,6 +107,47 @@ export const alertAPI = {
   markAsRead: (id) => api.put(`/alerts/${id}/read`),
   markAllAsRead: () => api.put('/alerts/read-all'),
   deleteAlert: (id) => api.delete(`/alerts/${id}`),
+  getStreamToken: () => api.post('/alerts/stream-token'),
+};
+
+// Open the alert stream. EventSource cannot send the Authorization header, so
+// it authenticates with a short-lived stream token. When the browser gives up
+// reconnecting (e.g. the token expired), reopen with a fresh token and resume
+// after the last alert received. Returns a function that closes the stream.
+export const openAlertStream = ({ onAlert, onUnreadCount }) => {
+  let source = null;
+  let lastEventId = null;
+  let closed = false;
+
+  const connect = async () => {
+    try {
+      const response = await alertAPI.getStreamToken();
+      if (closed) return;
+      const params = new URLSearchParams({ token: response.data.data });
+      if (lastEventId) params.set('lastEventId', lastEventId);
+      source = new EventSource(`${API_BASE_URL}/alerts/stream?${params}`);
+      source.addEventListener('alert', (event) => {
+        lastEventId = event.lastEventId;
+        onAlert?.(JSON.parse(event.data));
+      });
+      source.addEventListener('unread-count', (event) => {
+        onUnreadCount?.(Number(event.data));
+      });
+      source.onerror = () => {
+        if (source.readyState === EventSource.CLOSED && !closed) {
+          setTimeout(connect, 5000);
+        }
+      };
+    } catch (error) {
+      if (!closed) setTimeout(connect, 5000);
+    }
+  };
+
+  connect();
+  return () => {
+    closed = true;
+    source?.close();
+  };
 };
 
 // ==================== EXPORT APIs ====================